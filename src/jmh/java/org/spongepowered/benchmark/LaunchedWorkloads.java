@@ -0,0 +1,53 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.benchmark;
+
+import net.minecraft.launchwrapper.Launch;
+
+import java.util.Map;
+
+/**
+ * Launches the test environment once per benchmark JVM and creates
+ * {@link Workload}s inside of it.
+ */
+public final class LaunchedWorkloads {
+
+    private static boolean launched;
+
+    private LaunchedWorkloads() {
+    }
+
+    public static synchronized Workload create(String className, Map<String, String> params) throws Exception {
+        if (!launched) {
+            Launch.main(new String[] {"--tweakClass", BenchmarkTweaker.class.getName()});
+            launched = true;
+        }
+
+        final Workload workload = (Workload) Class.forName(className, true, Launch.classLoader).newInstance();
+        workload.setUp(params);
+        return workload;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.benchmark;
+
+import java.util.Map;
+
+/**
+ * The body of a benchmark which needs the Sponge mixins applied. Workloads
+ * are created through {@link LaunchedWorkloads} and loaded by the launch class
+ * loader, so they may use Minecraft and Sponge classes freely, while the JMH
+ * benchmark holding them only sees this interface.
+ */
+public interface Workload {
+
+    /**
+     * Prepares the workload for a trial.
+     *
+     * @param params The benchmark parameters
+     * @throws Exception If the workload could not be prepared
+     */
+    void setUp(Map<String, String> params) throws Exception;
+
+    /**
+     * Runs one invocation of the workload.
+     *
+     * @return A result which should be consumed by the benchmark
+     * @throws Exception If the invocation failed
+     */
+    Object run() throws Exception;
+
+    /**
+     * Releases the resources held after a trial.
+     *
+     * @throws Exception If the resources could not be released
+     */
+    default void tearDown() throws Exception {
+    }
+
+}
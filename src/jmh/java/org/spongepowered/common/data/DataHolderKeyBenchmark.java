@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the throughput of the key based {@link DataHolder} methods, for
+ * the durability of an item stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataHolderKeyBenchmark {
+
+    @Param({"get", "getValue", "offer", "supports"})
+    public String operation;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(KeyWorkload.class.getName(), ImmutableMap.of("operation", this.operation));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    public Object operation() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class KeyWorkload implements Workload {
+
+        private static boolean registrationFinalized;
+
+        private DataHolder holder;
+        private Supplier<?> operation;
+        private int durability;
+
+        @Override
+        public void setUp(Map<String, String> params) {
+            if (!registrationFinalized) {
+                // The test environment stops before the post init, which bakes
+                // the value processors into the keys
+                SpongeDataManager.finalizeRegistration();
+                registrationFinalized = true;
+            }
+            this.holder = (DataHolder) (Object) new ItemStack(Items.DIAMOND_SWORD);
+            switch (params.get("operation")) {
+                case "get":
+                    this.operation = () -> this.holder.get(Keys.ITEM_DURABILITY);
+                    break;
+                case "getValue":
+                    this.operation = () -> this.holder.getValue(Keys.ITEM_DURABILITY);
+                    break;
+                case "offer":
+                    this.operation = () -> this.holder.offer(Keys.ITEM_DURABILITY, this.durability = (this.durability + 1) % 1000);
+                    break;
+                case "supports":
+                    this.operation = () -> this.holder.supports(Keys.ITEM_DURABILITY);
+                    break;
+                default:
+                    throw new IllegalArgumentException(params.get("operation"));
+            }
+        }
+
+        @Override
+        public Object run() {
+            return this.operation.get();
+        }
+
+    }
+
+}
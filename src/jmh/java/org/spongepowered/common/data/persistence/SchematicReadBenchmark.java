@@ -0,0 +1,173 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.ArrayPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to read a schematic of 128x64x128 blocks with the
+ * {@link StreamingSchematicCodec}, compared to reading the whole NBT tree
+ * and translating it with {@link SchematicTranslator#translate}.
+ *
+ * <p>The peak heap usage of each iteration, summed over the heap memory
+ * pools, is reported as the {@code peakHeapBytes} counter. Run with
+ * {@code -prof gc} to also see the allocation rate.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2G")
+public class SchematicReadBenchmark {
+
+    @Param({"translator", "codec"})
+    public String reader;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(ReadWorkload.class.getName(), ImmutableMap.of("reader", this.reader));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    public Object read(HeapCounters counters) throws Exception {
+        final Object schematic = this.workload.run();
+        counters.update();
+        return schematic;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        public long peakHeapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+            this.peakHeapBytes = 0;
+        }
+
+        void update() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            this.peakHeapBytes = Math.max(this.peakHeapBytes, peak);
+        }
+
+    }
+
+    public static final class ReadWorkload implements Workload {
+
+        private static final Vector3i SIZE = new Vector3i(128, 64, 128);
+
+        private byte[] bytes;
+        private boolean codec;
+
+        @Override
+        public void setUp(Map<String, String> params) throws IOException {
+            final BlockState[] states = {
+                    BlockTypes.AIR.getDefaultState(),
+                    BlockTypes.STONE.getDefaultState(),
+                    BlockTypes.DIRT.getDefaultState(),
+                    BlockTypes.GLASS.getDefaultState()
+            };
+            final MutableBlockVolume volume = new ArrayMutableBlockBuffer(new ArrayPalette(), Vector3i.ZERO, SIZE);
+            for (int y = 0; y < SIZE.getY(); y++) {
+                for (int z = 0; z < SIZE.getZ(); z++) {
+                    for (int x = 0; x < SIZE.getX(); x++) {
+                        volume.setBlock(x, y, z, states[(x * 3 + y * 5 + z * 7) % states.length]);
+                    }
+                }
+            }
+            final Schematic schematic = new SpongeSchematic(volume, Collections.emptyMap(), DataContainer.createNew());
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            StreamingSchematicCodec.write(out, schematic);
+            this.bytes = out.toByteArray();
+            this.codec = params.get("reader").equals("codec");
+        }
+
+        @Override
+        public Object run() throws IOException {
+            if (this.codec) {
+                return StreamingSchematicCodec.read(new ByteArrayInputStream(this.bytes));
+            }
+            return SchematicTranslator.get().translate(NbtTranslator.getInstance().translateFrom(
+                    CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(this.bytes)))));
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of posting an event on the main thread to 0, 1
+ * and 50 listeners. The fused dispatchers are generated after the first
+ * posts, so the warmup covers them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventPostBenchmark {
+
+    @Param({"0", "1", "50"})
+    public int listeners;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(PostWorkload.class.getName(),
+                ImmutableMap.of("listeners", String.valueOf(this.listeners)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    public Object post() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class PostWorkload implements Workload {
+
+        private SpongeEventManager eventManager;
+        private BenchmarkEvent event;
+
+        @Override
+        public void setUp(Map<String, String> params) {
+            final PluginManager pluginManager = Mockito.mock(PluginManager.class);
+            final Object plugin = new Object();
+            final PluginContainer container = Mockito.mock(PluginContainer.class);
+            Mockito.when(container.getId()).thenReturn("benchmark");
+            Mockito.when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+            this.eventManager = new SpongeEventManager(LogManager.getLogger("Sponge"), pluginManager);
+            final int listeners = Integer.parseInt(params.get("listeners"));
+            for (int i = 0; i < listeners; i++) {
+                this.eventManager.registerListener(plugin, BenchmarkEvent.class, event -> event.handled++);
+            }
+            this.event = new BenchmarkEvent();
+        }
+
+        @Override
+        public Object run() {
+            return this.eventManager.post(this.event, false);
+        }
+
+    }
+
+    public static final class BenchmarkEvent implements Event {
+
+        private final Cause cause = Cause.of(EventContext.empty(), "benchmark");
+        public int handled;
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+    }
+
+}
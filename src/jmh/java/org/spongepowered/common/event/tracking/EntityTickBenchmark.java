@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import co.aikar.timings.Timing;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of entity ticks on the main thread, either through
+ * the entity tick phase like {@link TrackingUtil#tickEntity} does, or
+ * without tracking like when a phase already captures entity ticks. The
+ * entities are stubs which don't do anything when they are updated, so the
+ * difference is the cost of tracking a tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EntityTickBenchmark {
+
+    private static final int ENTITIES = 100;
+
+    @Param({"off", "on"})
+    public String tracking;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(TickWorkload.class.getName(), ImmutableMap.of("tracking", this.tracking));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public Object tick() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class TickWorkload implements Workload {
+
+        private Field gameField;
+        private Game game;
+        private boolean tracking;
+        private Entity[] entities;
+
+        @Override
+        public void setUp(Map<String, String> params) throws Exception {
+            // The test environment has no MinecraftServer, which the phase
+            // tracker needs to tell that ticks happen on the main thread
+            final MinecraftServer server = Mockito.mock(MinecraftServer.class, Mockito.withSettings().stubOnly());
+            Mockito.when(server.isCallingFromMinecraftThread()).thenReturn(true);
+            Mockito.when(((Server) server).isMainThread()).thenReturn(true);
+            this.gameField = Sponge.class.getDeclaredField("game");
+            this.gameField.setAccessible(true);
+            this.game = (Game) this.gameField.get(null);
+            final Game game = Mockito.spy(this.game);
+            Mockito.doReturn(server).when(game).getServer();
+            Mockito.doReturn(true).when(game).isServerAvailable();
+            this.gameField.set(null, game);
+
+            final Timing timing = Mockito.mock(Timing.class, Mockito.withSettings().stubOnly());
+            Mockito.when(timing.startTiming()).thenReturn(timing);
+            this.tracking = params.get("tracking").equals("on");
+            this.entities = new Entity[ENTITIES];
+            for (int i = 0; i < ENTITIES; i++) {
+                final Entity entity = Mockito.mock(Entity.class, Mockito.withSettings().stubOnly());
+                Mockito.when(((IMixinEntity) entity).shouldTick()).thenReturn(true);
+                Mockito.when(((IMixinEntity) entity).getTimingsHandler()).thenReturn(timing);
+                this.entities[i] = entity;
+            }
+        }
+
+        @Override
+        public Object run() {
+            for (Entity entity : this.entities) {
+                if (this.tracking) {
+                    TrackingUtil.tickEntity(entity);
+                } else {
+                    entity.onUpdate();
+                }
+            }
+            return this.entities.length;
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            this.gameField.set(null, this.game);
+        }
+
+    }
+
+}
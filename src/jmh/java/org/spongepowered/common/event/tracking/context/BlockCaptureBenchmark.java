@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.World;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeBlockChangeFlag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of capturing plain block changes into a
+ * {@link BlockCaptureBuffer}, compared to creating a snapshot of every
+ * change up front and capturing it in a list, like before the buffer. The
+ * captures are cleared after every invocation, like they are after a phase
+ * was unwound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BlockCaptureBenchmark {
+
+    private static final int CHANGES = 1024;
+
+    @Param({"snapshots", "buffer"})
+    public String capture;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(CaptureWorkload.class.getName(), ImmutableMap.of("capture", this.capture));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANGES)
+    public Object capture() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class CaptureWorkload implements Workload {
+
+        private final SpongeBlockChangeFlag flag = new SpongeBlockChangeFlag("benchmark", 3);
+        private final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
+        private final List<BlockSnapshot> snapshots = new ArrayList<>();
+        private final BlockCaptureBuffer buffer = new BlockCaptureBuffer();
+        private WorldServer world;
+        private UUID worldId;
+        private IBlockState state;
+        private BlockPos[] positions;
+        private boolean useBuffer;
+
+        @Override
+        public void setUp(Map<String, String> params) {
+            this.worldId = UUID.randomUUID();
+            this.world = Mockito.mock(WorldServer.class, Mockito.withSettings().stubOnly());
+            Mockito.when(((World) this.world).getUniqueId()).thenReturn(this.worldId);
+            this.state = Blocks.STONE.getDefaultState();
+            this.positions = new BlockPos[CHANGES];
+            for (int i = 0; i < CHANGES; i++) {
+                this.positions[i] = new BlockPos(i & 15, 64 + (i >> 8), (i >> 4) & 15);
+            }
+            this.useBuffer = params.get("capture").equals("buffer");
+        }
+
+        @Override
+        public Object run() {
+            final int size;
+            if (this.useBuffer) {
+                for (BlockPos pos : this.positions) {
+                    this.buffer.add(this.world, pos, this.state, this.flag, BlockChange.BREAK);
+                }
+                size = this.buffer.size();
+                this.buffer.clear();
+            } else {
+                for (BlockPos pos : this.positions) {
+                    // Like WorldServer#createSpongeBlockSnapshot for a block without tile entity
+                    this.builder.reset();
+                    this.builder.blockState((BlockState) this.state)
+                            .extendedState((BlockState) this.state)
+                            .worldId(this.worldId)
+                            .position(VecHelper.toVector3i(pos));
+                    final SpongeBlockSnapshot snapshot = new SpongeBlockSnapshot(this.builder, this.flag);
+                    snapshot.blockChange = BlockChange.BREAK;
+                    this.snapshots.add(snapshot);
+                }
+                size = this.snapshots.size();
+                this.snapshots.clear();
+            }
+            return size;
+        }
+
+    }
+
+}
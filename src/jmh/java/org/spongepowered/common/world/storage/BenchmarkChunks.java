@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Creates chunk data for the storage benchmarks.
+ */
+final class BenchmarkChunks {
+
+    private BenchmarkChunks() {
+    }
+
+    static NBTTagCompound create(Random random, int x, int z) {
+        final NBTTagList sections = new NBTTagList();
+        for (int y = 0; y < 8; y++) {
+            final byte[] blocks = new byte[4096];
+            for (int i = 0; i < blocks.length; i++) {
+                // Mostly stone with some ores, so it compresses like terrain
+                blocks[i] = (byte) (random.nextInt(16) == 0 ? random.nextInt(256) : 1);
+            }
+            final NBTTagCompound section = new NBTTagCompound();
+            section.setByte("Y", (byte) y);
+            section.setByteArray("Blocks", blocks);
+            section.setByteArray("Data", new byte[2048]);
+            section.setByteArray("BlockLight", new byte[2048]);
+            section.setByteArray("SkyLight", new byte[2048]);
+            sections.appendTag(section);
+        }
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setInteger("zPos", z);
+        level.setTag("Sections", sections);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("Level", level);
+        return compound;
+    }
+
+    /**
+     * Writes full region files with the given amount of regions along each
+     * axis to the region directory of the world directory.
+     *
+     * @param worldDir The world directory
+     * @param regions The amount of regions along each axis
+     * @throws IOException If the region files can't be written
+     */
+    static void writeRegions(Path worldDir, int regions) throws IOException {
+        final Path regionDir = Files.createDirectories(worldDir.resolve("region"));
+        final Random random = new Random(0);
+        for (int regionX = 0; regionX < regions; regionX++) {
+            for (int regionZ = 0; regionZ < regions; regionZ++) {
+                final RegionFile region = new RegionFile(regionDir.resolve("r." + regionX + "." + regionZ + ".mca").toFile());
+                try {
+                    for (int x = 0; x < 32; x++) {
+                        for (int z = 0; z < 32; z++) {
+                            try (DataOutputStream out = region.getChunkDataOutputStream(x, z)) {
+                                CompressedStreamTools.write(create(random, regionX * 32 + x, regionZ * 32 + z), out);
+                            }
+                        }
+                    }
+                } finally {
+                    region.close();
+                }
+            }
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many chunks are saved per second by the
+ * {@link ParallelRegionSaveEngine}, compared to writing them one after
+ * another like the vanilla file IO thread does. Every invocation saves the
+ * chunks of a 64x64 area, which spans 4 region files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChunkSaveBenchmark {
+
+    private static final int AREA = 64;
+
+    @Param({"serial", "parallel"})
+    public String engine;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(SaveWorkload.class.getName(), ImmutableMap.of("engine", this.engine));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AREA * AREA)
+    public Object save() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class SaveWorkload implements Workload {
+
+        private Path directory;
+        private NBTTagCompound[] chunks;
+        private ChunkPos[] positions;
+        private boolean parallel;
+        private ParallelRegionSaveEngine saveEngine;
+
+        @Override
+        public void setUp(Map<String, String> params) throws IOException {
+            this.directory = Files.createTempDirectory("chunksave");
+            this.parallel = params.get("engine").equals("parallel");
+            this.saveEngine = new ParallelRegionSaveEngine(this.directory.toString(), this::write, (pos, compound) -> { });
+
+            final Random random = new Random(0);
+            this.chunks = new NBTTagCompound[AREA * AREA];
+            this.positions = new ChunkPos[AREA * AREA];
+            for (int x = 0; x < AREA; x++) {
+                for (int z = 0; z < AREA; z++) {
+                    this.positions[x * AREA + z] = new ChunkPos(x, z);
+                    this.chunks[x * AREA + z] = BenchmarkChunks.create(random, x, z);
+                }
+            }
+        }
+
+        private void write(ChunkPos pos, NBTTagCompound compound) throws IOException {
+            try (DataOutputStream out = RegionFileCache.getChunkOutputStream(this.directory.toFile(), pos.x, pos.z)) {
+                CompressedStreamTools.write(compound, out);
+            }
+        }
+
+        @Override
+        public Object run() throws IOException {
+            if (this.parallel) {
+                for (int i = 0; i < this.chunks.length; i++) {
+                    this.saveEngine.queue(this.positions[i], this.chunks[i]);
+                }
+                this.saveEngine.flush();
+            } else {
+                for (int i = 0; i < this.chunks.length; i++) {
+                    this.write(this.positions[i], this.chunks[i]);
+                }
+            }
+            return this.saveEngine.getWrittenCount();
+        }
+
+        @Override
+        public void tearDown() throws IOException {
+            RegionFileCache.clearRegionFileReferences();
+            BenchmarkChunks.delete(this.directory);
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.util.datafix.DataFixesManager;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how many chunks are read per second when scanning all the
+ * chunks of a world with 4 full region files, through the sequential
+ * {@link SpongeChunkDataStream} and its parallel stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChunkScanBenchmark {
+
+    private static final int REGIONS = 2;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(ScanWorkload.class.getName(), ImmutableMap.of("mode", this.mode));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGIONS * REGIONS * MappedRegionFile.CHUNK_COUNT)
+    public Object scan() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class ScanWorkload implements Workload {
+
+        private Path directory;
+        private boolean parallel;
+        private IMixinAnvilChunkLoader loader;
+
+        @Override
+        public void setUp(Map<String, String> params) throws IOException {
+            this.directory = Files.createTempDirectory("chunkscan");
+            BenchmarkChunks.writeRegions(this.directory, REGIONS);
+            this.parallel = params.get("mode").equals("parallel");
+            this.loader = (IMixinAnvilChunkLoader) new AnvilChunkLoader(this.directory.toFile(), DataFixesManager.createFixer());
+        }
+
+        @Override
+        public Object run() {
+            if (this.parallel) {
+                try (Stream<DataContainer> stream = new SpongeChunkDataStream(this.loader).parallelStream()) {
+                    // Not count(), which may skip the traversal of a sized stream
+                    return stream.mapToInt(container -> container.getKeys(false).size()).sum();
+                }
+            }
+            final SpongeChunkDataStream stream = new SpongeChunkDataStream(this.loader);
+            int keys = 0;
+            while (stream.hasNext()) {
+                keys += stream.next().getKeys(false).size();
+            }
+            return keys;
+        }
+
+        @Override
+        public void tearDown() throws IOException {
+            BenchmarkChunks.delete(this.directory);
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.benchmark.LaunchedWorkloads;
+import org.spongepowered.benchmark.Workload;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many chunks are read per second from a full region file
+ * through a {@link MappedRegionFile}, compared to a vanilla
+ * {@link RegionFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegionReadBenchmark {
+
+    @Param({"regionfile", "mapped"})
+    public String source;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workload = LaunchedWorkloads.create(ReadWorkload.class.getName(), ImmutableMap.of("source", this.source));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.workload.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MappedRegionFile.CHUNK_COUNT)
+    public Object read() throws Exception {
+        return this.workload.run();
+    }
+
+    public static final class ReadWorkload implements Workload {
+
+        private Path directory;
+        private boolean mapped;
+        private RegionFile regionFile;
+        private MappedRegionFile mappedRegionFile;
+
+        @Override
+        public void setUp(Map<String, String> params) throws IOException {
+            this.directory = Files.createTempDirectory("regionread");
+            BenchmarkChunks.writeRegions(this.directory, 1);
+            final Path path = this.directory.resolve("region").resolve("r.0.0.mca");
+            this.mapped = params.get("source").equals("mapped");
+            this.regionFile = new RegionFile(path.toFile());
+            this.mappedRegionFile = new MappedRegionFile(path);
+        }
+
+        @Override
+        public Object run() throws IOException {
+            int tags = 0;
+            for (int index = 0; index < MappedRegionFile.CHUNK_COUNT; index++) {
+                final NBTTagCompound compound;
+                if (this.mapped) {
+                    compound = this.mappedRegionFile.readChunk(index, CompressedStreamTools::read);
+                } else {
+                    try (DataInputStream in = this.regionFile.getChunkDataInputStream(index & 31, index >> 5)) {
+                        compound = CompressedStreamTools.read(in);
+                    }
+                }
+                tags += compound.getSize();
+            }
+            return tags;
+        }
+
+        @Override
+        public void tearDown() throws IOException {
+            this.regionFile.close();
+            this.mappedRegionFile.close();
+            BenchmarkChunks.delete(this.directory);
+        }
+
+    }
+
+}
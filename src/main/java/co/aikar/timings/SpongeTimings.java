@@ -61,8 +61,6 @@ public final class SpongeTimings {
     public static final Timing dataRemoveManipulator = SpongeTimingsFactory.ofSafe("## removeManipulator");
     public static final Timing dataSupportsManipulator = SpongeTimingsFactory.ofSafe("## supportsManipulator");
     public static final Timing dataOfferKey = SpongeTimingsFactory.ofSafe("## offerKey");
-    public static final Timing dataGetByKey = SpongeTimingsFactory.ofSafe("## getKey");
-    public static final Timing dataGetValue = SpongeTimingsFactory.ofSafe("## getValue");
     public static final Timing dataSupportsKey = SpongeTimingsFactory.ofSafe("## supportsKey");
     public static final Timing dataRemoveKey = SpongeTimingsFactory.ofSafe("## removeKey");
 
@@ -130,6 +128,17 @@ public static Timing getPluginSchedulerTimings(PluginContainer plugin) {
         return SpongeTimingsFactory.ofSafe(plugin.getName(), TimingsManager.PLUGIN_SCHEDULER_HANDLER);
     }
 
+    /**
+     * Records the time the synchronous tasks of a plugin exceeded their tick
+     * budget by, as a child of the plugin scheduler timings.
+     *
+     * @param plugin The plugin
+     * @param overrun The overrun in nanoseconds
+     */
+    public static void recordPluginSchedulerOverrun(PluginContainer plugin, long overrun) {
+        SpongeTimingsFactory.ofSafe(plugin.getName(), "Tick Budget Overrun", TimingsManager.PLUGIN_SCHEDULER_HANDLER).addMeasuredDiff(overrun);
+    }
+
     public static Timing getCancelTasksTimer() {
         return SpongeTimingsFactory.ofSafe("Cancel Tasks");
     }
@@ -162,6 +162,28 @@ void addDiff(long diff) {
         }
     }
 
+    /**
+     * Records time which was measured outside of this timer, such as an
+     * overrun of a budget, without adding it to the own time of the group
+     * handler a second time.
+     *
+     * @param diff The time in nanoseconds
+     */
+    void addMeasuredDiff(long diff) {
+        if (!this.enabled) {
+            return;
+        }
+        this.record.add(diff);
+        if (!this.added) {
+            this.added = true;
+            this.timed = true;
+            TimingsManager.HANDLERS.add(this);
+        }
+        if (this.groupHandler != null) {
+            this.groupHandler.children.get(this.id).add(diff);
+        }
+    }
+
     /**
      * Reset this timer, setting all values to zero.
      *
@@ -49,6 +49,12 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.event.AsyncEventLane;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.scheduler.PluginTaskStatistics;
+import org.spongepowered.common.world.storage.ParallelRegionSaveEngine;
+import org.spongepowered.common.world.storage.RegionFileLruCache;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -61,6 +67,7 @@
 import java.net.URL;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 
 class TimingsExport extends Thread {
@@ -121,6 +128,47 @@ static void reportTimings(CommandSource sender) {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
                 })));
 
+        final RegionFileLruCache regionFileCache = RegionFileLruCache.getInstance();
+        if (regionFileCache != null) {
+            builder.add("regionfilecache", JSONUtil.objectBuilder()
+                    .add("maxsize", regionFileCache.getMaxSize())
+                    .add("hits", regionFileCache.getHits())
+                    .add("misses", regionFileCache.getMisses())
+                    .add("evictions", regionFileCache.getEvictions()));
+        }
+        if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParallelChunkSaving()) {
+            builder.add("chunksaving", JSONUtil.objectBuilder()
+                    .add("written", ParallelRegionSaveEngine.getTotalWrittenCount())
+                    .add("coalesced", ParallelRegionSaveEngine.getTotalCoalescedCount())
+                    .add("failed", ParallelRegionSaveEngine.getTotalFailedCount()));
+        }
+        builder.add("asynctasks", JSONUtil.mapArrayToObject(SpongeImpl.getScheduler().getAsyncTaskStatistics().entrySet(), (entry) -> {
+            final PluginTaskStatistics stats = entry.getValue();
+            return JSONUtil.singleObjectPair(entry.getKey().getId(), JSONUtil.objectBuilder()
+                    .add("queued", stats.getQueueDepth())
+                    .add("executed", stats.getExecutedCount())
+                    .add("avglatency", stats.getAverageLatency(TimeUnit.MICROSECONDS))
+                    .add("maxlatency", stats.getMaxLatency(TimeUnit.MICROSECONDS))
+                    .add("inflight", stats.getInFlightCount())
+                    .add("skipped", stats.getSkippedCount())
+                    .build());
+        }));
+
+        final AsyncEventLane asyncEventLane = Sponge.getEventManager() instanceof SpongeEventManager
+                ? ((SpongeEventManager) Sponge.getEventManager()).getStartedAsyncEventLane() : null;
+        if (asyncEventLane != null) {
+            builder.add("asynceventlane", JSONUtil.objectBuilder()
+                    .add("capacity", asyncEventLane.getCapacity())
+                    .add("maxdepth", asyncEventLane.getMaxDepth())
+                    .add("queued", asyncEventLane.getQueuedCount())
+                    .add("dropped", asyncEventLane.getDroppedCount())
+                    .add("processed", asyncEventLane.getProcessedCount())
+                    .add("batches", asyncEventLane.getBatchCount()));
+        }
+
+        builder.add("capturing", JSONUtil.objectBuilder()
+                .add("skipped", PhaseTracker.getInstance().getSkippedCaptures()));
+
         Set<BlockType> blockTypeSet = Sets.newHashSet();
         Set<EntityType> entityTypeSet = Sets.newHashSet();
 
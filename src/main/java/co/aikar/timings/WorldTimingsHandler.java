@@ -33,6 +33,7 @@ public class WorldTimingsHandler {
 
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
+    public final Timing doChunkUnloadSave;
     public final Timing doPortalForcer;
     public final Timing scheduledBlocks;
     public final Timing scheduledBlocksCleanup;
@@ -56,6 +57,7 @@ public class WorldTimingsHandler {
     public final Timing tracker2;
     public final Timing doTick;
     public final Timing tickEntities;
+    public final Timing entityActivation;
 
     // Chunk Load
     public final Timing syncChunkLoadTimer;
@@ -80,6 +82,7 @@ public WorldTimingsHandler(World world) {
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
+        this.doChunkUnloadSave = SpongeTimingsFactory.ofSafe(name + "doChunkUnload - Save");
         this.scheduledBlocks = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks");
         this.scheduledBlocksCleanup = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Cleanup");
         this.scheduledBlocksTicking = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Ticking");
@@ -112,6 +115,7 @@ public WorldTimingsHandler(World world) {
         this.tracker2 = SpongeTimingsFactory.ofSafe(name + "tracker stage 2");
         this.doTick = SpongeTimingsFactory.ofSafe(name + "doTick");
         this.tickEntities = SpongeTimingsFactory.ofSafe(name + "tickEntities");
+        this.entityActivation = SpongeTimingsFactory.ofSafe(name + "entityActivation");
 
         this.causeTrackerBlockTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures");
         this.causeTrackerBlockBreakTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures");
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
+import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
+
+import javax.annotation.Nullable;
+
+/**
+ * The tile entity data of a captured {@link SpongeBlockSnapshot}, which is
+ * only serialized once it's needed. Until then, it refers to the live tile
+ * entity, which resolves its pending data right before it changes, so all
+ * snapshots taken in between share the same data.
+ *
+ * <p>The live tile entity may only be read on the main thread. Snapshots are
+ * resolved before they are posted in an event, so reading the data of an
+ * unresolved snapshot from another thread fails instead.</p>
+ */
+public final class LazyTileEntityData {
+
+    @Nullable private TileEntity tileEntity;
+    @Nullable private NBTTagCompound compound;
+    private ImmutableList<ImmutableDataManipulator<?, ?>> manipulators = ImmutableList.of();
+
+    /**
+     * Gets the pending data of the given tile entity, or starts a new one
+     * if the tile entity changed since the last snapshot.
+     *
+     * @param tileEntity The tile entity
+     * @return The lazy data
+     */
+    public static LazyTileEntityData of(TileEntity tileEntity) {
+        final IMixinTileEntity mixinTileEntity = (IMixinTileEntity) tileEntity;
+        LazyTileEntityData data = mixinTileEntity.getPendingSnapshotData();
+        if (data == null) {
+            data = new LazyTileEntityData(tileEntity);
+            mixinTileEntity.setPendingSnapshotData(data);
+        }
+        return data;
+    }
+
+    private LazyTileEntityData(TileEntity tileEntity) {
+        this.tileEntity = tileEntity;
+    }
+
+    /**
+     * Serializes the tile entity, if not done yet, and detaches this data
+     * from it.
+     */
+    public synchronized void resolve() {
+        final TileEntity tileEntity = this.tileEntity;
+        if (tileEntity == null) {
+            return;
+        }
+        this.tileEntity = null;
+        final IMixinTileEntity mixinTileEntity = (IMixinTileEntity) tileEntity;
+        if (mixinTileEntity.getPendingSnapshotData() == this) {
+            mixinTileEntity.setPendingSnapshotData(null);
+        }
+
+        final ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
+        for (DataManipulator<?, ?> manipulator : ((IMixinCustomDataHolder) tileEntity).getCustomManipulators()) {
+            builder.add(manipulator.asImmutable());
+        }
+        this.manipulators = builder.build();
+        final NBTTagCompound compound = new NBTTagCompound();
+        // Some mods like OpenComputers assert if attempting to save robot while moving
+        try {
+            tileEntity.writeToNBT(compound);
+            this.compound = compound;
+        } catch (Throwable t) {
+            // ignore
+        }
+    }
+
+    @Nullable
+    synchronized NBTTagCompound getCompound() {
+        resolveForRead();
+        return this.compound;
+    }
+
+    synchronized ImmutableList<ImmutableDataManipulator<?, ?>> getManipulators() {
+        resolveForRead();
+        return this.manipulators;
+    }
+
+    private void resolveForRead() {
+        if (this.tileEntity != null) {
+            checkState(!Sponge.isServerAvailable() || Sponge.getServer().isMainThread(),
+                    "The tile entity data of a block snapshot at %s was first read off the main thread", this.tileEntity.getPos());
+            resolve();
+        }
+    }
+
+}
@@ -64,6 +64,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
@@ -88,13 +89,15 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
     private final BlockState extendedState;
     private final UUID worldUniqueId;
     private final Vector3i pos;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
+    private ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
     private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
     private ImmutableSet<ImmutableValue<?>> valueSet;
     private ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
     private ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
     private ImmutableSet<ImmutableValue<?>> blockValueSet;
-    @Nullable final NBTTagCompound compound;
+    @Nullable private NBTTagCompound compound;
+    // Set until the tile entity data is first needed
+    @Nullable private volatile LazyTileEntityData tileData;
     @Nullable final UUID creatorUniqueId;
     @Nullable final UUID notifierUniqueId;
     // Internal use only
@@ -119,16 +122,13 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
 
         // This avoids cross contamination of block state based values versus tile entity values.
         // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
-        this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
+        if (builder.tileData != null) {
+            this.extraData = ImmutableList.of();
+            this.tileData = builder.tileData;
+        } else {
+            this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
+            this.compound = builder.compound == null ? null : builder.compound.copy();
         }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
-        this.compound = builder.compound == null ? null : builder.compound.copy();
         this.changeFlag = (SpongeBlockChangeFlag) BlockChangeFlags.ALL;
     }
 
@@ -177,34 +177,41 @@ public boolean restore(boolean force, BlockChangeFlag flag) {
         }
 
         WorldServer world = (WorldServer) SpongeImpl.getGame().getServer().getWorld(this.worldUniqueId).get();
-        final IMixinWorldServer mixinWorldServer = (IMixinWorldServer) world;
+        // Snapshots restored in bulk are already within the phase of restoring blocks
+        if (PhaseTracker.getInstance().getCurrentState() == BlockPhase.State.RESTORING_BLOCKS) {
+            return restore(world, force, flag);
+        }
         // We need to deterministically define the context as nullable if we don't need to enter.
         // this way we guarantee an exit.
         try (PhaseContext<?> context = BlockPhase.State.RESTORING_BLOCKS.createPhaseContext().buildAndSwitch()) {
+            return restore(world, force, flag);
+        }
+    }
 
-            BlockPos pos = VecHelper.toBlockPos(this.pos);
-            IBlockState current = world.getBlockState(pos);
-            IBlockState replaced = (IBlockState) this.blockState;
-            if (!force && (current.getBlock() != replaced.getBlock() || current.getBlock().getMetaFromState(current) != replaced.getBlock()
-                .getMetaFromState(replaced))) {
-                return false;
-            }
+    private boolean restore(WorldServer world, boolean force, BlockChangeFlag flag) {
+        BlockPos pos = VecHelper.toBlockPos(this.pos);
+        IBlockState current = world.getBlockState(pos);
+        IBlockState replaced = (IBlockState) this.blockState;
+        if (!force && (current.getBlock() != replaced.getBlock() || current.getBlock().getMetaFromState(current) != replaced.getBlock()
+            .getMetaFromState(replaced))) {
+            return false;
+        }
 
-            // Prevent Shulker Boxes from dropping when restoring BlockSnapshot
-            if (current.getBlock().getClass() == BlockShulkerBox.class) {
-                world.removeTileEntity(pos);
-            }
-            mixinWorldServer.setBlockState(pos, replaced, flag);
-            world.getPlayerChunkMap().markBlockForUpdate(pos);
-            if (this.compound != null) {
-                final TileEntity te = world.getTileEntity(pos);
-                if (te != null) {
-                    te.readFromNBT(this.compound);
-                    te.markDirty();
-                }
+        // Prevent Shulker Boxes from dropping when restoring BlockSnapshot
+        if (current.getBlock().getClass() == BlockShulkerBox.class) {
+            world.removeTileEntity(pos);
+        }
+        ((IMixinWorldServer) world).setBlockState(pos, replaced, flag);
+        world.getPlayerChunkMap().markBlockForUpdate(pos);
+        final NBTTagCompound compound = getNbt();
+        if (compound != null) {
+            final TileEntity te = world.getTileEntity(pos);
+            if (te != null) {
+                te.readFromNBT(compound);
+                te.markDirty();
             }
-            return true;
         }
+        return true;
     }
 
     @Override
@@ -228,7 +235,7 @@ public Optional<Location<World>> getLocation() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
-        return ImmutableList.<ImmutableDataManipulator<?, ?>>builder().addAll(this.getBlockManipulators()).addAll(this.extraData).build();
+        return ImmutableList.<ImmutableDataManipulator<?, ?>>builder().addAll(this.getBlockManipulators()).addAll(this.getExtraData()).build();
     }
 
     @Override
@@ -251,10 +258,11 @@ public DataContainer toContainer() {
         if (this.blockState != this.extendedState) {
             container.set(DataQueries.BLOCK_EXTENDED_STATE, this.extendedState);
         }
-        if (this.compound != null) {
-            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+        final NBTTagCompound compound = getNbt();
+        if (compound != null) {
+            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(compound));
         }
-        final List<DataView> dataList = DataUtil.getSerializedImmutableManipulatorList(this.extraData);
+        final List<DataView> dataList = DataUtil.getSerializedImmutableManipulatorList(this.getExtraData());
         if (!dataList.isEmpty()) {
             container.set(DataQueries.SNAPSHOT_TILE_DATA, dataList);
         }
@@ -267,7 +275,7 @@ public DataContainer toContainer() {
         if (optional.isPresent()) {
             return optional;
         }
-        for (ImmutableDataManipulator<?, ?> dataManipulator : this.extraData) {
+        for (ImmutableDataManipulator<?, ?> dataManipulator : this.getExtraData()) {
             if (containerClass.isInstance(dataManipulator)) {
                 return Optional.of(((T) dataManipulator));
             }
@@ -369,7 +377,7 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((E) this.keyValueMap.get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
@@ -405,7 +413,7 @@ private ImmutableSet<ImmutableValue<?>> getTileValueSet() {
     private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
         if (this.keyValueMap == null) {
             final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
-            for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
+            for (ImmutableDataManipulator<?, ?> manipulator : this.getExtraData()) {
                 for (ImmutableValue<?> value : manipulator.getValues()) {
                     tileBuilder.put(value.getKey(), value);
                 }
@@ -415,6 +423,30 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
         return this.keyValueMap;
     }
 
+    private ImmutableList<ImmutableDataManipulator<?, ?>> getExtraData() {
+        resolveTileData();
+        return this.extraData;
+    }
+
+    @Nullable
+    private NBTTagCompound getNbt() {
+        resolveTileData();
+        return this.compound;
+    }
+
+    /**
+     * Serializes the tile entity data of this snapshot, if it was captured
+     * lazily and not serialized yet. This must happen on the main thread,
+     * before the snapshot is handed to other threads.
+     */
+    public void resolveTileData() {
+        final LazyTileEntityData tileData = this.tileData;
+        if (tileData != null) {
+            this.compound = tileData.getCompound();
+            this.extraData = tileData.getManipulators();
+            this.tileData = null;
+        }
+    }
 
     private ImmutableList<ImmutableDataManipulator<?, ?>> getBlockManipulators() {
         if (this.blockData == null) {
@@ -425,7 +457,7 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((V) this.keyValueMap.get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
@@ -436,7 +468,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
@@ -463,7 +495,8 @@ public Set<ImmutableValue<?>> getValues() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
-        return this.compound == null ? Optional.<NBTTagCompound>empty() : Optional.of(this.compound.copy());
+        final NBTTagCompound compound = getNbt();
+        return compound == null ? Optional.<NBTTagCompound>empty() : Optional.of(compound.copy());
     }
 
     public SpongeBlockSnapshotBuilder createBuilder() {
@@ -472,11 +505,12 @@ public SpongeBlockSnapshotBuilder createBuilder() {
             .extendedState(this.extendedState)
             .position(this.pos)
             .worldId(this.worldUniqueId);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
+        for (ImmutableDataManipulator<?, ?> manipulator : this.getExtraData()) {
             builder.add(manipulator);
         }
-        if (this.compound != null) {
-            builder.unsafeNbt(this.compound);
+        final NBTTagCompound compound = getNbt();
+        if (compound != null) {
+            builder.unsafeNbt(compound);
         }
         return builder;
     }
@@ -517,10 +551,11 @@ public Optional<TileEntityArchetype> createArchetype() {
         if (!(type instanceof ITileEntityProvider)) {
             return Optional.empty();
         }
-        if (this.compound == null) { // We can't retrieve the TileEntityType
+        final NBTTagCompound compound = getNbt();
+        if (compound == null) { // We can't retrieve the TileEntityType
             return Optional.empty();
         }
-        final String tileId = this.compound.getString(NbtDataUtil.BLOCK_ENTITY_ID);
+        final String tileId = compound.getString(NbtDataUtil.BLOCK_ENTITY_ID);
         final Class<? extends TileEntity> tileClass = TileEntity.REGISTRY.getObject(new ResourceLocation(tileId));
         if (tileClass == null) {
             return Optional.empty();
@@ -530,7 +565,7 @@ public Optional<TileEntityArchetype> createArchetype() {
         final TileEntityArchetype archetype = TileEntityArchetype.builder()
                 .tile(tileType)
                 .state(this.blockState)
-                .tileData(NbtTranslator.getInstance().translate(this.compound))
+                .tileData(NbtTranslator.getInstance().translate(compound))
                 .build();
         return Optional.of(archetype);
     }
@@ -548,8 +583,8 @@ public boolean equals(Object o) {
                Objects.equal(this.extendedState, that.extendedState) &&
                Objects.equal(this.worldUniqueId, that.worldUniqueId) &&
                Objects.equal(this.pos, that.pos) &&
-               Objects.equal(this.extraData, that.extraData) &&
-               Objects.equal(this.compound, that.compound);
+               Objects.equal(this.getExtraData(), that.getExtraData()) &&
+               Objects.equal(this.getNbt(), that.getNbt());
     }
 
     @Override
@@ -558,8 +593,8 @@ public int hashCode() {
             .hashCode(this.extendedState,
                 this.worldUniqueId,
                 this.pos,
-                this.extraData,
+                this.getExtraData(),
                 this.changeFlag,
-                this.compound);
+                this.getNbt());
     }
 }
@@ -73,6 +73,7 @@ public class SpongeBlockSnapshotBuilder extends AbstractDataBuilder<BlockSnapsho
     Vector3i coords;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
+    @Nullable LazyTileEntityData tileData;
     SpongeBlockChangeFlag flag = (SpongeBlockChangeFlag) BlockChangeFlags.ALL;
 
 
@@ -148,6 +149,18 @@ public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
         return this;
     }
 
+    /**
+     * Sets the tile entity data to be serialized once the built snapshot
+     * needs it, instead of any manipulators or nbt set on this builder.
+     *
+     * @param tileData The lazy tile entity data
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder tileData(LazyTileEntityData tileData) {
+        this.tileData = checkNotNull(tileData, "tileData");
+        return this;
+    }
+
     @Override
     public SpongeBlockSnapshotBuilder add(DataManipulator<?, ?> manipulator) {
         return add(checkNotNull(manipulator, "manipulator").asImmutable());
@@ -198,9 +211,7 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
         this.coords = holder.getPosition();
         this.manipulators = Lists.newArrayList(holder.getManipulators());
         if (holder instanceof SpongeBlockSnapshot) {
-            if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = ((SpongeBlockSnapshot) holder).compound.copy();
-            }
+            ((SpongeBlockSnapshot) holder).getCompound().ifPresent(compound -> this.compound = compound);
         }
         return this;
     }
@@ -214,6 +225,7 @@ public SpongeBlockSnapshotBuilder reset() {
         this.coords = null;
         this.manipulators = null;
         this.compound = null;
+        this.tileData = null;
         return this;
     }
 
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkSavingCategory extends ConfigCategory {
+
+    @Setting(value = "parallel", comment = "If enabled, chunks are saved by a pool of threads with a lane per region file,\n"
+            + "instead of by the single file IO thread. Saving a chunk again while it's still waiting to\n"
+            + "be written only writes the latest data.")
+    private boolean parallel = false;
+
+    @Setting(value = "threads", comment = "The amount of threads writing region files in parallel. (Default: 4)")
+    private int threads = 4;
+
+    @Setting(value = "region-file-cache-size", comment = "The maximum amount of region files which are kept open. Once the limit is reached,\n"
+            + "the least recently used region file is closed. (Default: 256)")
+    private int regionFileCacheSize = 256;
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getRegionFileCacheSize() {
+        return this.regionFileCacheSize;
+    }
+}
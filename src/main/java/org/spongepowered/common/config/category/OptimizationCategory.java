@@ -61,6 +61,41 @@ public class OptimizationCategory extends ConfigCategory {
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "fused-event-dispatchers", comment = "If enabled, frequently posted events have their listeners fused into a single generated\n"
+            + "dispatcher class, which is regenerated whenever the listeners of the event change. This lets the JIT\n"
+            + "inline the whole listener chain of hot events such as MoveEntityEvent and ChangeBlockEvent.")
+    private boolean fusedEventDispatchers = false;
+
+    @Setting(value = "async-event-lane", comment = "Handles the lane which calls listeners marked with @AsyncListener off the posting thread.")
+    private AsyncEventLaneCategory asyncEventLaneCategory = new AsyncEventLaneCategory();
+
+    @Setting(value = "parallel-entity-activation", comment = "If enabled, the activation range of entities is checked in parallel, with a task\n"
+            + "per region of 32x32 chunks. Useful for worlds with a lot of loaded entities near players.")
+    private boolean parallelEntityActivation = false;
+
+    @Setting(value = "lazy-tile-entity-snapshots", comment = "If enabled, the tile entity data of captured block snapshots is only serialized when it's\n"
+            + "read by an event listener or a restore, or right before the tile entity changes. If mods change\n"
+            + "their tile entities without marking them dirty, disable.")
+    private boolean lazyTileEntitySnapshots = true;
+
+    @Setting(value = "skip-unobserved-captures", comment = "If enabled, ticking blocks, entities and tile entities without an owner or notifier don't capture\n"
+            + "their block changes, entity spawns and item drops while no plugin listens to the events thrown from them,\n"
+            + "and apply them directly instead.")
+    private boolean skipUnobservedCaptures = true;
+
+    @Setting(value = "parallel-block-workers", comment = "If enabled, block volume workers split large volumes along chunk sections and run the\n"
+            + "fillers, mappers, mergers and reducers of plugins for each section on a fork join pool. Only the setting of\n"
+            + "the blocks stays on the calling thread. Mappers and mergers only run in parallel on immutable volumes, reducers\n"
+            + "only if they are also given a factory of their identity.\n"
+            + "Plugins using block workers must then have thread safe callbacks.")
+    private boolean parallelBlockWorkers = false;
+
+    @Setting(value = "chunk-saving", comment = "Handles how chunks are written to region files, and how region files are kept open.")
+    private ChunkSavingCategory chunkSavingCategory = new ChunkSavingCategory();
+
+    @Setting(value = "chunk-loading", comment = "Handles how chunks are read from region files.")
+    private ChunkLoadingCategory chunkLoadingCategory = new ChunkLoadingCategory();
+
     public OptimizationCategory() {  
         try {  
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.  
@@ -99,4 +134,44 @@ public boolean useAsyncLighting() {
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
+
+    public boolean useFusedEventDispatchers() {
+        return this.fusedEventDispatchers;
+    }
+
+    public AsyncEventLaneCategory getAsyncEventLaneCategory() {
+        return this.asyncEventLaneCategory;
+    }
+
+    public boolean useParallelEntityActivation() {
+        return this.parallelEntityActivation;
+    }
+
+    public boolean useLazyTileEntitySnapshots() {
+        return this.lazyTileEntitySnapshots;
+    }
+
+    public boolean useSkipUnobservedCaptures() {
+        return this.skipUnobservedCaptures;
+    }
+
+    public boolean useParallelBlockWorkers() {
+        return this.parallelBlockWorkers;
+    }
+
+    public ChunkSavingCategory getChunkSavingCategory() {
+        return this.chunkSavingCategory;
+    }
+
+    public boolean useParallelChunkSaving() {
+        return this.chunkSavingCategory.isParallel();
+    }
+
+    public ChunkLoadingCategory getChunkLoadingCategory() {
+        return this.chunkLoadingCategory;
+    }
+
+    public boolean useAsyncChunkLoading() {
+        return this.chunkLoadingCategory.isAsync();
+    }
 }
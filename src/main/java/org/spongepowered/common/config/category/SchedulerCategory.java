@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-worker-threads", comment = "The maximum amount of threads running asynchronous plugin tasks at the same time.\n"
+            + "Due tasks wait for a free thread once this is reached. Set to 0 to start a new thread whenever no\n"
+            + "idle one is available, without a limit. (Default: 0)")
+    private int asyncWorkerThreads = 0;
+
+    @Setting(value = "plugin-tick-budget", comment = "The time in milliseconds the synchronous tasks of a single plugin may take each tick.\n"
+            + "Once a plugin used up its budget, its remaining due tasks are deferred to the next tick, and\n"
+            + "the overrun is recorded in the plugin scheduler timings. Set to 0 to disable. (Default: 0)")
+    private double pluginTickBudget = 0;
+
+    @Setting(value = "lightweight-async-executors", comment = "If enabled, the executors plugins create through Scheduler#createAsyncExecutor run each\n"
+            + "task on its own lightweight thread, a virtual thread if the JVM supports them, instead of on the\n"
+            + "async scheduler workers. This keeps plugins doing blocking I/O from occupying the worker threads.")
+    private boolean lightweightAsyncExecutors = false;
+
+    @Setting(value = "lightweight-fallback-threads", comment = "The maximum amount of threads used by lightweight async executors when\n"
+            + "the JVM doesn't support virtual threads. Idle threads are released after a minute. (Default: 256)")
+    private int lightweightFallbackThreads = 256;
+
+    public int getAsyncWorkerThreads() {
+        return this.asyncWorkerThreads;
+    }
+
+    public double getPluginTickBudget() {
+        return this.pluginTickBudget;
+    }
+
+    public boolean useLightweightAsyncExecutors() {
+        return this.lightweightAsyncExecutors;
+    }
+
+    public int getLightweightFallbackThreads() {
+        return this.lightweightFallbackThreads;
+    }
+}
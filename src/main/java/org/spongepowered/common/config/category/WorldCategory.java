@@ -36,6 +36,10 @@ public class WorldCategory extends ConfigCategory {
     @Setting(value = "auto-save-interval", comment = "The auto-save tick interval used to save all loaded chunks in a world. \nSet to 0 to disable. (Default: 900) \nNote: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "auto-save-chunks-per-tick", comment = "The maximum amount of chunks saved per tick by an auto-save, spreading the save of a world \n"
+            + "across several ticks. The chunks of all worlds are then saved alongside each other. \nSet to 0 to save all chunks at once. (Default: 0)")
+    private int autoSaveChunksPerTick = 0;
+
     @Setting(value = "infinite-water-source", comment = "Vanilla water source behavior - is infinite")
     private boolean infiniteWaterSource = false;
 
@@ -80,6 +84,11 @@ public class WorldCategory extends ConfigCategory {
                                                              + "\nloaded on the world and increases the chance for a drop in tps. (Default: 100)")
     private int maxChunkUnloads = 100;
 
+    @Setting(value = "chunk-unload-time-budget", comment = "The maximum time in microseconds spent unloading and saving queued chunks in a single tick. "
+                                                           + "\nChunks left over are unloaded in the following ticks. "
+                                                           + "\nSet to 0 to only limit unloads by 'max-chunk-unloads-per-tick'. (Default: 0)")
+    private int chunkUnloadTimeBudget = 0;
+
     @Setting(value = "chunk-gc-load-threshold", comment = "The number of newly loaded chunks before triggering a forced cleanup. "
                                                           + "\nNote: When triggered, the loaded chunk threshold will reset and start incrementing. "
                                                           + "\nDisabled by default.")
@@ -122,6 +131,10 @@ public int getAutoSaveInterval() {
         return this.autoSaveInterval;
     }
 
+    public int getAutoSaveChunksPerTick() {
+        return this.autoSaveChunksPerTick;
+    }
+
     public boolean hasInfiniteWaterSource() {
         return this.infiniteWaterSource;
     }
@@ -214,6 +227,10 @@ public int getMaxChunkUnloads() {
         return this.maxChunkUnloads;
     }
 
+    public int getChunkUnloadTimeBudget() {
+        return this.chunkUnloadTimeBudget;
+    }
+
     public double getItemMergeRadius() {
         return this.itemMergeRadius;
     }
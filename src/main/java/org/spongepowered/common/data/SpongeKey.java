@@ -55,6 +55,7 @@
     private final TypeToken<?> elementToken;
     private final PluginContainer parent;
     @Nullable private List<KeyBasedDataListener<?>> listeners;
+    @Nullable private ValueProcessor<?, ?> valueProcessor;
 
     SpongeKey(SpongeKeyBuilder<?, V> builder) {
         this.valueToken = builder.valueToken;
@@ -159,4 +160,19 @@ public String toString() {
     public PluginContainer getParent() {
         return this.parent;
     }
+
+    /**
+     * Gets the baked processor delegate for this key, so value lookups do not
+     * have to go through the registry map.
+     *
+     * @return The value processor, or null if none is registered
+     */
+    @Nullable
+    public ValueProcessor<?, ?> getValueProcessor() {
+        return this.valueProcessor;
+    }
+
+    void setValueProcessor(@Nullable ValueProcessor<?, ?> valueProcessor) {
+        this.valueProcessor = valueProcessor;
+    }
 }
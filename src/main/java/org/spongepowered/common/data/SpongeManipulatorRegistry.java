@@ -307,6 +307,9 @@ public <E, V extends BaseValue<E>> void registerValueProcessor(Key<V> key, Value
             // During soft registrations
             return new ValueProcessorDelegate(key, ImmutableList.copyOf(this.tempRegistry.valueProcessorMap.get(key)));
         }
+        if (key instanceof SpongeKey) {
+            return ((SpongeKey<?>) key).getValueProcessor();
+        }
         return this.valueDelegates.get(key);
     }
 
@@ -337,6 +340,9 @@ void bake() {
             valueListBuilder.addAll(value);
             final ValueProcessorDelegate<?, ?> delegate = new ValueProcessorDelegate(key, valueListBuilder.build());
             this.valueDelegates.put(key, delegate);
+            if (key instanceof SpongeKey) {
+                ((SpongeKey<?>) key).setValueProcessor(delegate);
+            }
         });
         // DataProcessors
         this.tempRegistry.processorMap.forEach((key, value) -> {
@@ -39,6 +39,9 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.api.world.schematic.BlockPaletteTypes;
@@ -47,11 +50,14 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.registry.type.block.TileEntityTypeRegistryModule;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
-import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.common.world.schematic.ArrayPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 import org.spongepowered.common.world.schematic.SpongeSchematic;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -129,12 +135,12 @@ public Schematic translate(DataView view) throws InvalidDataException {
         if (paletteData.isPresent()) {
             // If we had a default palette_max we don't want to allocate all
             // that space for nothing so we use a sensible default instead
-            palette = new BimapPalette(palette_max != 0xFFFF ? palette_max : 64);
+            palette = new ArrayPalette(palette_max != 0xFFFF ? palette_max + 1 : 64);
             DataView paletteMap = paletteData.get();
             Set<DataQuery> paletteKeys = paletteMap.getKeys(false);
             for (DataQuery key : paletteKeys) {
                 BlockState state = Sponge.getRegistry().getType(BlockState.class, key.getParts().get(0)).get();
-                ((BimapPalette) palette).assign(state, paletteMap.getInt(key).get());
+                ((ArrayPalette) palette).assign(state, paletteMap.getInt(key).get());
             }
         } else {
             palette = GlobalPalette.instance;
@@ -195,6 +201,47 @@ public Schematic translate(DataView view) throws InvalidDataException {
         return schematic;
     }
 
+    /**
+     * Reads a schematic straight from an uncompressed nbt stream with the
+     * {@link StreamingSchematicCodec}, instead of reading the nbt of the
+     * whole schematic into a {@link DataView} and translating that.
+     *
+     * @param input The uncompressed nbt stream
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream is not a valid schematic
+     */
+    public Schematic readFrom(InputStream input) throws IOException {
+        return StreamingSchematicCodec.read(input);
+    }
+
+    /**
+     * Pastes a schematic into the world as it is read from an uncompressed
+     * nbt stream, without holding the schematic in memory.
+     *
+     * @param input The uncompressed nbt stream
+     * @param location The location to paste the origin of the schematic at
+     * @param flag The flag to set the blocks with
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream is not a valid schematic
+     */
+    public void pasteFrom(InputStream input, Location<World> location, BlockChangeFlag flag) throws IOException {
+        StreamingSchematicCodec.paste(input, location, flag);
+    }
+
+    /**
+     * Writes a schematic straight to an uncompressed nbt stream with the
+     * {@link StreamingSchematicCodec}, in the same format as translating it
+     * and writing the {@link DataView}.
+     *
+     * @param output The stream to write uncompressed nbt to
+     * @param schematic The schematic
+     * @throws IOException If the stream could not be written
+     */
+    public void writeTo(OutputStream output, Schematic schematic) throws IOException {
+        StreamingSchematicCodec.write(output, schematic);
+    }
+
     @Override
     public DataContainer translate(Schematic schematic) throws InvalidDataException {
         DataContainer data = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
@@ -249,7 +296,7 @@ public DataView addTo(Schematic schematic, DataView data) {
 
         data.set(DataQueries.Schematic.BLOCK_DATA, buffer.toByteArray());
 
-        if (palette.getType() == BlockPaletteTypes.LOCAL) {
+        if (palette.getType() != BlockPaletteTypes.GLOBAL) {
             DataQuery paletteQuery = DataQueries.Schematic.PALETTE;
             for (BlockState state : palette.getEntries()) {
                 // getOrAssign to skip the optional, it will never assign
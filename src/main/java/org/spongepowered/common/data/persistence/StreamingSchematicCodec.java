@@ -0,0 +1,753 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.block.tileentity.TileEntityType;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.block.SpongeTileEntityArchetypeBuilder;
+import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.registry.type.block.TileEntityTypeRegistryModule;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
+import org.spongepowered.common.world.schematic.ArrayPalette;
+import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes Sponge schematics as a stream instead of going through
+ * the nbt of the whole schematic. Blocks are pasted into, or read out of,
+ * the world one layer at a time, so the heap used is bounded by the
+ * footprint of the schematic rather than its volume. A {@link Schematic}
+ * can be read and written the same way, which only holds the schematic
+ * itself in memory.
+ *
+ * <p>The streams hold uncompressed nbt, the same as {@link NbtDataFormat};
+ * wrap them in gzip streams where the file is compressed. The streams are
+ * not closed.</p>
+ */
+public final class StreamingSchematicCodec {
+
+    private static final int VERSION = 1;
+    private static final int MAX_SIZE = 65535;
+    private static final byte TAG_LONG_ARRAY = 12;
+    private static final byte[] ROOT_HEADER = {NbtDataUtil.TAG_COMPOUND, 0, 0};
+
+    private StreamingSchematicCodec() {
+    }
+
+    /**
+     * Pastes a schematic into the world as it is read, with its origin at
+     * the given location.
+     *
+     * <p>Block data that is read before the dimensions and palette of the
+     * schematic is spooled to a temporary file, as it cannot be placed
+     * until they are known.</p>
+     *
+     * @param input The uncompressed nbt stream
+     * @param location The location to paste the origin of the schematic at
+     * @param flag The flag to set the blocks with
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream is not a valid schematic
+     */
+    public static void paste(InputStream input, Location<World> location, BlockChangeFlag flag) throws IOException {
+        read(input, new WorldPaster(location, flag));
+    }
+
+    /**
+     * Reads a schematic from the stream, the same as reading the nbt with
+     * {@link NbtDataFormat} and translating it with the
+     * {@link SchematicTranslator}. The block data is decoded as it is read,
+     * so neither the nbt nor the encoded block data are held in memory. The
+     * schematic itself is, as its palette ids, packed to as few bits as its
+     * palette needs; use {@link #paste} where the blocks only need to be
+     * placed in the world.
+     *
+     * @param input The uncompressed nbt stream
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream is not a valid schematic
+     */
+    public static Schematic read(InputStream input) throws IOException {
+        final SchematicReader reader = new SchematicReader();
+        read(input, reader);
+        return reader.build();
+    }
+
+    private static void read(InputStream input, Reader reader) throws IOException {
+        final DataInputStream in = input instanceof DataInputStream ? (DataInputStream) input : new DataInputStream(new BufferedInputStream(input));
+        if (in.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new InvalidDataException("Schematic root is not a compound");
+        }
+        in.readUTF();
+        Path spool = null;
+        try {
+            byte type;
+            while ((type = in.readByte()) != NbtDataUtil.TAG_END) {
+                final DataQuery key = DataQuery.of(in.readUTF());
+                if (key.equals(DataQueries.Schematic.VERSION)) {
+                    reader.version = readNumber(in, type);
+                    if (reader.version != VERSION) {
+                        throw new InvalidDataException(String.format("Unknown schematic version %d (current version is %d)", reader.version,
+                                VERSION));
+                    }
+                } else if (key.equals(DataQueries.Schematic.WIDTH)) {
+                    reader.width = readSize(in, type);
+                } else if (key.equals(DataQueries.Schematic.HEIGHT)) {
+                    reader.height = readSize(in, type);
+                } else if (key.equals(DataQueries.Schematic.LENGTH)) {
+                    reader.length = readSize(in, type);
+                } else if (key.equals(DataQueries.Schematic.OFFSET) && type == NbtDataUtil.TAG_INT_ARRAY) {
+                    final int[] offset = new int[in.readInt()];
+                    for (int i = 0; i < offset.length; i++) {
+                        offset[i] = in.readInt();
+                    }
+                    if (offset.length != 3) {
+                        throw new InvalidDataException("Schematic offset was not of length 3");
+                    }
+                    reader.offset = offset;
+                } else if (key.equals(DataQueries.Schematic.METADATA) && type == NbtDataUtil.TAG_COMPOUND) {
+                    reader.readMetadata(in);
+                } else if (key.equals(DataQueries.Schematic.PALETTE) && type == NbtDataUtil.TAG_COMPOUND) {
+                    reader.readPalette(in);
+                } else if (key.equals(DataQueries.Schematic.BLOCK_DATA) && type == NbtDataUtil.TAG_BYTE_ARRAY) {
+                    final int dataLength = in.readInt();
+                    if (reader.canPlace()) {
+                        reader.placeBlocks(in, dataLength);
+                    } else {
+                        spool = Files.createTempFile("schematic", ".blocks");
+                        try (OutputStream out = Files.newOutputStream(spool)) {
+                            copy(in, out, dataLength);
+                        }
+                    }
+                } else if (key.equals(DataQueries.Schematic.TILEENTITY_DATA) && type == NbtDataUtil.TAG_LIST) {
+                    reader.readTiles(in);
+                } else {
+                    skipTag(in, type);
+                }
+            }
+            if (spool != null) {
+                if (reader.palette == null) {
+                    reader.useGlobalPalette();
+                }
+                if (!reader.canPlace()) {
+                    throw new InvalidDataException("Schematic is missing its version or dimensions");
+                }
+                try (DataInputStream spooled = new DataInputStream(new BufferedInputStream(Files.newInputStream(spool)))) {
+                    reader.placeBlocks(spooled, (int) Files.size(spool));
+                }
+            }
+            reader.applyPendingTiles();
+        } finally {
+            if (spool != null) {
+                Files.deleteIfExists(spool);
+            }
+        }
+    }
+
+    /**
+     * Writes the blocks and tile entities of a region of the world as a
+     * schematic.
+     *
+     * <p>The region is read twice, one layer at a time: once to build the
+     * palette and size the block data, and once to write it.</p>
+     *
+     * @param output The stream to write uncompressed nbt to
+     * @param world The world to read from
+     * @param min The lowest corner of the region
+     * @param max The highest corner of the region
+     * @param origin The position the schematic is relative to
+     * @param metadata The metadata to include, if any
+     * @throws IOException If the stream could not be written
+     */
+    public static void write(OutputStream output, World world, Vector3i min, Vector3i max, Vector3i origin, @Nullable DataView metadata)
+            throws IOException {
+        final Vector3i tmin = min.min(max);
+        final Vector3i tmax = max.max(min);
+        final Map<Vector3i, TileEntityArchetype> tiles = new LinkedHashMap<>();
+        for (TileEntity tile : world.getExtentView(tmin, tmax).getTileEntities()) {
+            tiles.put(tile.getLocation().getBlockPosition(), tile.createArchetype());
+        }
+        write(output, world, tmin, tmax, origin, metadata, tiles);
+    }
+
+    /**
+     * Writes a schematic to the stream, in the same format as translating it
+     * with the {@link SchematicTranslator} and writing the nbt with
+     * {@link NbtDataFormat}. The block data is encoded one layer at a time
+     * instead of into a single byte array. A local palette is always
+     * written, even if the schematic uses the global palette.
+     *
+     * @param output The stream to write uncompressed nbt to
+     * @param schematic The schematic
+     * @throws IOException If the stream could not be written
+     */
+    public static void write(OutputStream output, Schematic schematic) throws IOException {
+        // The origin of a schematic is at 0, 0, 0
+        write(output, schematic, schematic.getBlockMin(), schematic.getBlockMax(), Vector3i.ZERO, schematic.getMetadata(),
+                schematic.getTileEntityArchetypes());
+    }
+
+    private static void write(OutputStream output, BlockVolume volume, Vector3i min, Vector3i max, Vector3i origin, @Nullable DataView metadata,
+            Map<Vector3i, TileEntityArchetype> tiles) throws IOException {
+        final Vector3i size = max.sub(min).add(Vector3i.ONE);
+        final int width = size.getX();
+        final int height = size.getY();
+        final int length = size.getZ();
+        if (width > MAX_SIZE || height > MAX_SIZE || length > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)", width, height, length, MAX_SIZE));
+        }
+
+        // Assign local ids in the order they are first seen, and work out
+        // how long the block data is, as it has to be written up front
+        final int[] localIds = new int[GlobalPalette.instance.getHighestId() + 1];
+        Arrays.fill(localIds, -1);
+        final List<BlockState> palette = Lists.newArrayList();
+        long dataLength = 0;
+        for (int y = 0; y < height; y++) {
+            for (char globalId : readLayer(volume, min, max, min.getY() + y)) {
+                int id = localIds[globalId];
+                if (id == -1) {
+                    id = localIds[globalId] = palette.size();
+                    palette.add(GlobalPalette.instance.get(globalId).get());
+                }
+                dataLength += varIntSize(id);
+            }
+        }
+        if (dataLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Schematic block data is larger than can be stored in an nbt byte array");
+        }
+
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeUTF("");
+        writeName(out, NbtDataUtil.TAG_INT, DataQueries.Schematic.VERSION);
+        out.writeInt(VERSION);
+        if (metadata != null && !metadata.getKeys(false).isEmpty()) {
+            writeName(out, NbtDataUtil.TAG_COMPOUND, DataQueries.Schematic.METADATA);
+            writeCompoundPayload(out, NbtTranslator.getInstance().translateData(metadata));
+        }
+        writeName(out, NbtDataUtil.TAG_SHORT, DataQueries.Schematic.WIDTH);
+        out.writeShort(width);
+        writeName(out, NbtDataUtil.TAG_SHORT, DataQueries.Schematic.HEIGHT);
+        out.writeShort(height);
+        writeName(out, NbtDataUtil.TAG_SHORT, DataQueries.Schematic.LENGTH);
+        out.writeShort(length);
+        writeName(out, NbtDataUtil.TAG_INT_ARRAY, DataQueries.Schematic.OFFSET);
+        out.writeInt(3);
+        out.writeInt(origin.getX() - min.getX());
+        out.writeInt(origin.getY() - min.getY());
+        out.writeInt(origin.getZ() - min.getZ());
+        writeName(out, NbtDataUtil.TAG_INT, DataQueries.Schematic.PALETTE_MAX);
+        out.writeInt(palette.size() - 1);
+        writeName(out, NbtDataUtil.TAG_COMPOUND, DataQueries.Schematic.PALETTE);
+        for (int id = 0; id < palette.size(); id++) {
+            out.writeByte(NbtDataUtil.TAG_INT);
+            out.writeUTF(palette.get(id).getId());
+            out.writeInt(id);
+        }
+        out.writeByte(NbtDataUtil.TAG_END);
+
+        writeName(out, NbtDataUtil.TAG_BYTE_ARRAY, DataQueries.Schematic.BLOCK_DATA);
+        out.writeInt((int) dataLength);
+        for (int y = 0; y < height; y++) {
+            final char[] layer = readLayer(volume, min, max, min.getY() + y);
+            // Layers are copied in x, z order but schematics store z, x
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    int id = localIds[layer[x * length + z]];
+                    while ((id & -128) != 0) {
+                        out.writeByte(id & 127 | 128);
+                        id >>>= 7;
+                    }
+                    out.writeByte(id);
+                }
+            }
+        }
+
+        writeName(out, NbtDataUtil.TAG_LIST, DataQueries.Schematic.TILEENTITY_DATA);
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeInt(tiles.size());
+        for (Map.Entry<Vector3i, TileEntityArchetype> entry : tiles.entrySet()) {
+            final Vector3i pos = entry.getKey().sub(min);
+            final DataContainer tileData = entry.getValue().getTileData();
+            tileData.set(DataQueries.Schematic.TILEENTITY_POS, new int[] {pos.getX(), pos.getY(), pos.getZ()});
+            if (!tileData.contains(DataQueries.CONTENT_VERSION)) {
+                // Set a default content version of 1
+                tileData.set(DataQueries.CONTENT_VERSION, 1);
+            }
+            writeCompoundPayload(out, NbtTranslator.getInstance().translateData(tileData));
+        }
+        out.writeByte(NbtDataUtil.TAG_END);
+        out.flush();
+    }
+
+    /**
+     * Decodes the schematic nbt as it is read, and places the blocks and tile
+     * entities one layer at a time.
+     */
+    private abstract static class Reader {
+
+        private final List<DataView> pendingTiles = Lists.newArrayList();
+        int version = -1;
+        int width = -1;
+        int height = -1;
+        int length = -1;
+        int[] offset = new int[3];
+        @Nullable DataView metadata;
+        @Nullable BlockPalette blockPalette;
+        @Nullable BlockState[] palette;
+        private boolean globalPalette;
+        private boolean placed;
+
+        boolean canPlace() {
+            return this.version != -1 && this.width != -1 && this.height != -1 && this.length != -1 && this.palette != null;
+        }
+
+        void readMetadata(DataInputStream in) throws IOException {
+            this.metadata = NbtTranslator.getInstance().translateFrom(readCompoundPayload(in));
+        }
+
+        void readPalette(DataInputStream in) throws IOException {
+            final ArrayPalette palette = new ArrayPalette();
+            byte type;
+            while ((type = in.readByte()) != NbtDataUtil.TAG_END) {
+                final String stateId = in.readUTF();
+                final BlockState state = Sponge.getRegistry().getType(BlockState.class, stateId)
+                        .orElseThrow(() -> new InvalidDataException("Unknown block state in schematic palette: " + stateId));
+                palette.assign(state, readNumber(in, type));
+            }
+            this.blockPalette = palette;
+            this.palette = new BlockState[palette.getHighestId() + 1];
+            for (int id = 0; id < this.palette.length; id++) {
+                this.palette[id] = palette.get(id).orElse(null);
+            }
+        }
+
+        void useGlobalPalette() {
+            this.blockPalette = GlobalPalette.instance;
+            this.palette = new BlockState[GlobalPalette.instance.getHighestId() + 1];
+            this.globalPalette = true;
+        }
+
+        void placeBlocks(DataInputStream in, int dataLength) throws IOException {
+            final int[] layer = new int[this.width * this.length];
+            int remaining = dataLength;
+            for (int y = 0; y < this.height && remaining > 0; y++) {
+                int count = 0;
+                for (; count < layer.length && remaining > 0; count++) {
+                    int value = 0;
+                    int varIntLength = 0;
+                    byte b;
+                    do {
+                        if (remaining-- == 0) {
+                            throw new InvalidDataException("Schematic block data ends within a VarInt");
+                        }
+                        b = in.readByte();
+                        value |= (b & 127) << (varIntLength++ * 7);
+                        if (varIntLength > 5) {
+                            throw new InvalidDataException("VarInt too big (probably corrupted data)");
+                        }
+                    } while ((b & 128) == 128);
+                    layer[count] = value;
+                }
+                placeLayer(y, layer, count);
+            }
+            skipFully(in, remaining);
+            this.placed = true;
+            applyPendingTiles();
+        }
+
+        /**
+         * Places the first count blocks of a layer of the schematic, which
+         * are stored in z, x order.
+         *
+         * @param y The layer, relative to the lowest layer
+         * @param layer The palette ids of the layer
+         * @param count The amount of blocks in the layer
+         */
+        abstract void placeLayer(int y, int[] layer, int count);
+
+        void placedWithoutBlocks() {
+            this.placed = true;
+            applyPendingTiles();
+        }
+
+        BlockState getState(int id) {
+            if (this.palette.length <= id || id < 0) {
+                throw new InvalidDataException("Schematic block id " + id + " is not in its palette");
+            }
+            BlockState state = this.palette[id];
+            if (state == null && this.globalPalette) {
+                state = this.palette[id] = GlobalPalette.instance.get(id).orElse(null);
+            }
+            if (state == null) {
+                throw new InvalidDataException("Schematic block id " + id + " is not in its palette");
+            }
+            return state;
+        }
+
+        void readTiles(DataInputStream in) throws IOException {
+            final byte type = in.readByte();
+            final int count = in.readInt();
+            if (count > 0 && type != NbtDataUtil.TAG_COMPOUND) {
+                throw new InvalidDataException("Schematic tile entities are not compounds");
+            }
+            for (int i = 0; i < count; i++) {
+                final DataView tile = NbtTranslator.getInstance().translateFrom(readCompoundPayload(in));
+                if (this.placed) {
+                    applyTile(tile);
+                } else {
+                    this.pendingTiles.add(tile);
+                }
+            }
+        }
+
+        void applyPendingTiles() {
+            if (!this.placed) {
+                return;
+            }
+            for (DataView tile : this.pendingTiles) {
+                applyTile(tile);
+            }
+            this.pendingTiles.clear();
+        }
+
+        private void applyTile(DataView tile) {
+            final int[] pos = (int[]) tile.get(DataQueries.Schematic.TILEENTITY_POS).get();
+            if (pos.length != 3) {
+                throw new InvalidDataException("Schematic tileentity pos was not of length 3");
+            }
+            final ResourceLocation id = new ResourceLocation(tile.getString(DataQuery.of("id")).get());
+            final TileEntityType type = TileEntityTypeRegistryModule.getInstance()
+                    .getForClass(net.minecraft.tileentity.TileEntity.REGISTRY.getObject(id));
+            applyTile(pos[0] - this.offset[0], pos[1] - this.offset[1], pos[2] - this.offset[2], type, tile);
+        }
+
+        /**
+         * Applies a tile entity, the block at its position is already placed.
+         *
+         * @param x The x coordinate, relative to the origin
+         * @param y The y coordinate, relative to the origin
+         * @param z The z coordinate, relative to the origin
+         * @param type The tile entity type
+         * @param tile The tile entity data
+         */
+        abstract void applyTile(int x, int y, int z, TileEntityType type, DataView tile);
+    }
+
+    private static final class WorldPaster extends Reader {
+
+        private final Location<World> location;
+        private final BlockChangeFlag flag;
+
+        WorldPaster(Location<World> location, BlockChangeFlag flag) {
+            this.location = location;
+            this.flag = flag;
+        }
+
+        @Override
+        void placeLayer(int y, int[] layer, int count) {
+            final World world = this.location.getExtent();
+            final int minX = this.location.getBlockX() - this.offset[0];
+            final int minY = this.location.getBlockY() - this.offset[1];
+            final int minZ = this.location.getBlockZ() - this.offset[2];
+            final int maxX = minX + this.width - 1;
+            final int maxZ = minZ + this.length - 1;
+            // Paste the layer one chunk at a time, so each run of writes
+            // stays within a single section
+            for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+                for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                    final int x0 = Math.max(minX, chunkX << 4);
+                    final int x1 = Math.min(maxX, (chunkX << 4) + 15);
+                    final int z0 = Math.max(minZ, chunkZ << 4);
+                    final int z1 = Math.min(maxZ, (chunkZ << 4) + 15);
+                    for (int z = z0; z <= z1; z++) {
+                        for (int x = x0; x <= x1; x++) {
+                            // index = (y * length + z) * width + x
+                            final int index = (z - minZ) * this.width + (x - minX);
+                            if (index < count) {
+                                world.setBlock(x, minY + y, z, getState(layer[index]), this.flag);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        void applyTile(int x, int y, int z, TileEntityType type, DataView tile) {
+            final Location<World> location = this.location.add(x, y, z);
+            final TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
+                    .state(location.getBlock())
+                    .tileData(tile)
+                    .tile(type)
+                    .build();
+            archetype.apply(location);
+        }
+    }
+
+    private static final class SchematicReader extends Reader {
+
+        private final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
+        @Nullable private ArrayMutableBlockBuffer buffer;
+
+        private ArrayMutableBlockBuffer getBuffer() {
+            if (this.buffer == null) {
+                this.buffer = new ArrayMutableBlockBuffer(this.blockPalette, new Vector3i(-this.offset[0], -this.offset[1], -this.offset[2]),
+                        new Vector3i(this.width, this.height, this.length));
+            }
+            return this.buffer;
+        }
+
+        @Override
+        void placeLayer(int y, int[] layer, int count) {
+            for (int index = 0; index < count; index++) {
+                // Only checks the id, the buffer shares the palette of the
+                // schematic so the ids are stored as they are
+                getState(layer[index]);
+            }
+            getBuffer().setLayerIds(y - this.offset[1], layer, count);
+        }
+
+        @Override
+        void applyTile(int x, int y, int z, TileEntityType type, DataView tile) {
+            final TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
+                    .state(getBuffer().getBlock(x, y, z))
+                    .tileData(tile)
+                    .tile(type)
+                    .build();
+            this.tiles.put(new Vector3i(x, y, z), archetype);
+        }
+
+        Schematic build() {
+            if (this.version == -1 || this.width == -1 || this.height == -1 || this.length == -1) {
+                throw new InvalidDataException("Schematic is missing its version or dimensions");
+            }
+            if (this.blockPalette == null) {
+                useGlobalPalette();
+            }
+            if (this.buffer == null) {
+                // There was no block data, so the tile entities are still pending
+                getBuffer();
+                placedWithoutBlocks();
+            }
+            DataView metadata = this.metadata;
+            if (metadata == null) {
+                return new SpongeSchematic(this.buffer, this.tiles);
+            }
+            // The same as the SchematicTranslator, values under the "." key
+            // are also available at the top level
+            final Optional<DataView> dotData = metadata.getView(DataQuery.of("."));
+            if (dotData.isPresent()) {
+                final DataView data = dotData.get();
+                for (DataQuery key : data.getKeys(false)) {
+                    if (!metadata.contains(key)) {
+                        metadata.set(key, data.get(key).get());
+                    }
+                }
+            }
+            return new SpongeSchematic(this.buffer, this.tiles, metadata);
+        }
+    }
+
+    /**
+     * Copies a single layer of the region into an array of global palette
+     * ids, in x, z order.
+     */
+    private static char[] readLayer(BlockVolume volume, Vector3i min, Vector3i max, int y) {
+        final Vector3i layerMin = new Vector3i(min.getX(), y, min.getZ());
+        final Vector3i layerMax = new Vector3i(max.getX(), y, max.getZ());
+        final BlockVolume layer = volume.getBlockView(layerMin, layerMax);
+        return ExtentBufferUtil.copyToArray(layer, layerMin, layerMax, layerMax.sub(layerMin).add(Vector3i.ONE));
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & -128) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeName(DataOutputStream out, byte type, DataQuery name) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(name.toString());
+    }
+
+    private static void writeCompoundPayload(DataOutputStream out, NBTTagCompound compound) throws IOException {
+        // The root tag written here is a compound with an empty name, so its
+        // payload starts after the type and name length
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        out.write(bytes.toByteArray(), ROOT_HEADER.length, bytes.size() - ROOT_HEADER.length);
+    }
+
+    private static NBTTagCompound readCompoundPayload(DataInputStream in) throws IOException {
+        // Reads only the payload from the stream, behind a root header
+        return CompressedStreamTools.read(new DataInputStream(new SequenceInputStream(new ByteArrayInputStream(ROOT_HEADER), in)));
+    }
+
+    private static int readSize(DataInputStream in, byte type) throws IOException {
+        final int size = type == NbtDataUtil.TAG_SHORT ? in.readUnsignedShort() : readNumber(in, type);
+        if (size < 0 || size > MAX_SIZE) {
+            throw new InvalidDataException(String.format("Schematic is larger than maximum allowable size (found: %d max: %d)", size, MAX_SIZE));
+        }
+        return size;
+    }
+
+    private static int readNumber(DataInputStream in, byte type) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return in.readByte();
+            case NbtDataUtil.TAG_SHORT:
+                return in.readShort();
+            case NbtDataUtil.TAG_INT:
+                return in.readInt();
+            case NbtDataUtil.TAG_LONG:
+                return (int) in.readLong();
+            default:
+                throw new InvalidDataException("Expected a number in the schematic but found nbt tag type " + type);
+        }
+    }
+
+    private static void skipTag(DataInputStream in, byte type) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                skipFully(in, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                skipFully(in, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                skipFully(in, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                skipFully(in, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skipFully(in, in.readInt());
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipFully(in, in.readUnsignedShort());
+                break;
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    skipTag(in, elementType);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                byte elementType;
+                while ((elementType = in.readByte()) != NbtDataUtil.TAG_END) {
+                    in.readUTF();
+                    skipTag(in, elementType);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skipFully(in, in.readInt() * 4L);
+                break;
+            case TAG_LONG_ARRAY:
+                skipFully(in, in.readInt() * 8L);
+                break;
+            default:
+                throw new InvalidDataException("Unknown nbt tag type " + type + " in schematic");
+        }
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            final long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException();
+                }
+                count--;
+            } else {
+                count -= skipped;
+            }
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, long count) throws IOException {
+        final byte[] buffer = new byte[8192];
+        while (count > 0) {
+            final int read = in.read(buffer, 0, (int) Math.min(buffer.length, count));
+            if (read == -1) {
+                throw new EOFException();
+            }
+            out.write(buffer, 0, read);
+            count -= read;
+        }
+    }
+
+}
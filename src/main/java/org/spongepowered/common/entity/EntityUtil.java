@@ -976,7 +976,7 @@ public static EntityItem entityOnDropItem(Entity entity, ItemStack itemStack, fl
             entityitem.setDefaultPickupDelay();
     
             // FIFTH - Capture the entity maybe?
-            if (currentState.doesCaptureEntityDrops()) {
+            if (currentState.doesCaptureEntityDrops() && !phaseContext.skipsCaptures()) {
                 if (currentState.tracksEntitySpecificDrops()) {
                     // We are capturing per entity drop
                     phaseContext.getCapturedEntityItemDropSupplier().get().put(entity.getUniqueID(), entityitem);
@@ -1084,7 +1084,7 @@ public static EntityItem playerDropItem(IMixinEntityPlayer mixinPlayer, ItemStac
                 entityitem.motionZ += Math.sin(f3) * f2;
             }
             // FIFTH - Capture the entity maybe?
-            if (currentState.doesCaptureEntityDrops()) {
+            if (currentState.doesCaptureEntityDrops() && !phaseContext.skipsCaptures()) {
                 if (currentState.tracksEntitySpecificDrops()) {
                     // We are capturing per entity drop
                     phaseContext.getCapturedEntityItemDropSupplier().get().put(player.getUniqueID(), entityitem);
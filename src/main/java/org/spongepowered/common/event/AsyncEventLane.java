@@ -0,0 +1,182 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded lane which calls {@link AsyncListener}s in micro-batches on a
+ * dedicated thread, so slow listeners don't add to the time of the thread
+ * which posts the event.
+ *
+ * <p>Posting never blocks, if the lane is full the event is dropped for the
+ * lane listeners and counted as such.</p>
+ */
+public final class AsyncEventLane {
+
+    private final Logger logger;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final Thread thread;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int maxDepth;
+
+    AsyncEventLane(Logger logger, int capacity, int batchSize) {
+        checkArgument(capacity > 0, "capacity must be positive");
+        checkArgument(batchSize > 0, "batchSize must be positive");
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.thread = new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Async Event Lane")
+                .setDaemon(true)
+                .build()
+                .newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Queues the event to be passed to the given lane listeners.
+     *
+     * @param event The event
+     * @param listeners The lane listeners, sorted by order
+     * @return False if the lane was full and the event got dropped
+     */
+    boolean offer(Event event, List<RegisteredListener<?>> listeners) {
+        if (!this.queue.offer(new Entry(event, listeners))) {
+            if (this.dropped.getAndIncrement() == 0) {
+                this.logger.warn("The async event lane is full, events are being dropped for async listeners. "
+                        + "Consider increasing the lane capacity or check for slow async listeners.");
+            }
+            return false;
+        }
+        this.queued.incrementAndGet();
+        final int depth = this.queue.size();
+        if (depth > this.maxDepth) {
+            this.maxDepth = depth;
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void run() {
+        final List<Entry> batch = new ArrayList<>(this.batchSize);
+        while (true) {
+            try {
+                final Entry first = this.queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+                for (Entry entry : batch) {
+                    for (RegisteredListener listener : entry.listeners) {
+                        try {
+                            listener.handle(entry.event);
+                        } catch (Throwable e) {
+                            this.logger.error("Could not pass {} to {}", entry.event.getClass().getSimpleName(), listener.getPlugin(), e);
+                        }
+                    }
+                }
+                this.processed.addAndGet(batch.size());
+                this.batches.incrementAndGet();
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return this.queue.size() + this.queue.remainingCapacity();
+    }
+
+    /**
+     * Gets the amount of events that are currently waiting in the lane.
+     *
+     * @return The current depth
+     */
+    public int getDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the highest depth the lane reached.
+     *
+     * @return The max depth
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getQueuedCount() {
+        return this.queued.get();
+    }
+
+    /**
+     * Gets the amount of events that were not passed to the lane listeners
+     * because the lane was full.
+     *
+     * @return The dropped count
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    public long getProcessedCount() {
+        return this.processed.get();
+    }
+
+    public long getBatchCount() {
+        return this.batches.get();
+    }
+
+    private static final class Entry {
+
+        final Event event;
+        final List<RegisteredListener<?>> listeners;
+
+        Entry(Event event, List<RegisteredListener<?>> listeners) {
+            this.event = event;
+            this.listeners = listeners;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link org.spongepowered.api.event.Listener} method to be called on
+ * the {@link AsyncEventLane} instead of on the thread which posted the event.
+ *
+ * <p>Ordering guarantees of lane listeners, compared to the declared
+ * {@link org.spongepowered.api.event.Order}:</p>
+ * <ul>
+ *     <li>A lane listener is always called after every regular listener of
+ *     the event has returned, whatever its order is. The order is therefore
+ *     only meaningful relative to other lane listeners of the same event,
+ *     which are called in order, one after another.</li>
+ *     <li>A single lane thread processes the events, so a listener never
+ *     sees two events concurrently. Events posted by the same thread are
+ *     delivered in the order they were posted. There is no order between
+ *     events posted concurrently by different threads.</li>
+ *     <li>Lane listeners can't influence the outcome of the event. Changes
+ *     made to the event, including cancelling it, are ignored.</li>
+ *     <li>When the lane is full the event is dropped for the lane listeners,
+ *     which is reported in the lane metrics.</li>
+ * </ul>
+ *
+ * <p>The event object is shared with the posting thread, lane listeners
+ * should only read state that is final once the event was posted.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AsyncListener {
+
+}
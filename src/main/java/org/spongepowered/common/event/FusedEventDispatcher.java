@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeImpl;
+
+import javax.annotation.Nullable;
+
+/**
+ * The base class of the dispatchers generated by the
+ * {@link FusedEventDispatcherFactory}. A generated dispatcher calls every
+ * listener of a single event type, in order, from one method body, so the
+ * whole listener chain can be inlined by the JIT instead of being invoked
+ * through a megamorphic interface call per listener.
+ *
+ * <p>The static hooks in this class perform the same bookkeeping that
+ * {@link SpongeEventManager#post(Event, java.util.List)} does around each
+ * listener.</p>
+ */
+public abstract class FusedEventDispatcher {
+
+    protected FusedEventDispatcher() {
+    }
+
+    /**
+     * Calls all the fused listeners with the given event.
+     *
+     * @param event The event
+     * @param sync Whether the event is being posted on the main thread
+     */
+    public abstract void dispatch(Event event, boolean sync);
+
+    @Nullable
+    protected static Object enter(RegisteredListener<?> listener, Event event, boolean sync) {
+        CauseStackManager.StackFrame frame = null;
+        if (sync) {
+            Sponge.getCauseStackManager().pushCause(listener.getPlugin());
+            frame = Sponge.getCauseStackManager().pushCauseFrame();
+            listener.getTimingsHandler().startTimingIfSync();
+        }
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = listener.getOrder();
+        }
+        return frame;
+    }
+
+    protected static void exit(RegisteredListener<?> listener, boolean sync, @Nullable Object frame) {
+        if (sync) {
+            if (frame != null) {
+                ((CauseStackManager.StackFrame) frame).close();
+            }
+            listener.getTimingsHandler().stopTimingIfSync();
+            Sponge.getCauseStackManager().popCause();
+        }
+    }
+
+    protected static void error(RegisteredListener<?> listener, Event event, Throwable throwable) {
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), listener.getPlugin(), throwable);
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a {@link FusedEventDispatcher} for the baked listeners of a
+ * single event type.
+ *
+ * <p>Each listener is stored in a field typed with its concrete class
+ * whenever that class is visible to the generated dispatcher, which turns
+ * the call into a monomorphic {@code invokevirtual} of the generated
+ * {@link AnnotatedEventListener} (and its inlined filter). Listeners which
+ * can't be referenced by name, such as lambdas, are called through the
+ * {@link EventListener} interface instead.</p>
+ */
+public final class FusedEventDispatcherFactory {
+
+    /**
+     * The maximum amount of listeners that will be fused into a single
+     * dispatcher, larger chains would produce a method that is too big for
+     * the JIT to compile anyway.
+     */
+    public static final int MAX_LISTENERS = 128;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(FusedEventDispatcher.class);
+    private static final String REGISTERED_LISTENER = Type.getInternalName(RegisteredListener.class);
+    private static final String REGISTERED_LISTENER_DESCRIPTOR = Type.getDescriptor(RegisteredListener.class);
+    private static final String EVENT_LISTENER = Type.getInternalName(EventListener.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String HANDLE_METHOD_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + ")V";
+    private static final String ENTER_DESCRIPTOR = '(' + REGISTERED_LISTENER_DESCRIPTOR + EVENT_DESCRIPTOR + "Z)Ljava/lang/Object;";
+    private static final String EXIT_DESCRIPTOR = '(' + REGISTERED_LISTENER_DESCRIPTOR + "ZLjava/lang/Object;)V";
+    private static final String ERROR_DESCRIPTOR = '(' + REGISTERED_LISTENER_DESCRIPTOR + EVENT_DESCRIPTOR + "Ljava/lang/Throwable;)V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final DefineableClassLoader classLoader;
+    private final String targetPackage;
+
+    public FusedEventDispatcherFactory(String targetPackage, DefineableClassLoader classLoader) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.classLoader = checkNotNull(classLoader, "classLoader");
+    }
+
+    public FusedEventDispatcher create(EventType<?> eventType, List<RegisteredListener<?>> listeners) throws Exception {
+        checkArgument(listeners.size() <= MAX_LISTENERS, "Too many listeners to fuse: %s", listeners.size());
+        final RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        final Class<?>[] handlerTypes = new Class<?>[array.length];
+        for (int i = 0; i < array.length; i++) {
+            handlerTypes[i] = getAccessibleType(array[i].getListener().getClass());
+        }
+        final String name = this.targetPackage + eventType.getType().getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        final Class<? extends FusedEventDispatcher> dispatcherClass = this.classLoader.defineClass(name, generateClass(name, handlerTypes));
+        return dispatcherClass.getConstructor(RegisteredListener[].class).newInstance((Object) array);
+    }
+
+    /**
+     * Gets the type the dispatcher should use to reference the given
+     * listener class, which is the class itself if it can be linked against
+     * from the generated dispatcher, otherwise {@link EventListener}.
+     */
+    private Class<?> getAccessibleType(Class<?> listenerClass) {
+        if (!Modifier.isPublic(listenerClass.getModifiers()) || listenerClass.isAnonymousClass() || listenerClass.isSynthetic()) {
+            return EventListener.class;
+        }
+        for (Class<?> enclosing = listenerClass.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            if (!Modifier.isPublic(enclosing.getModifiers())) {
+                return EventListener.class;
+            }
+        }
+        try {
+            if (Class.forName(listenerClass.getName(), false, this.classLoader) == listenerClass) {
+                return listenerClass;
+            }
+        } catch (ClassNotFoundException | LinkageError ignored) {
+        }
+        return EventListener.class;
+    }
+
+    private static byte[] generateClass(String name, Class<?>[] handlerTypes) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        for (int i = 0; i < handlerTypes.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR, null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "handler" + i, Type.getDescriptor(handlerTypes[i]), null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([" + REGISTERED_LISTENER_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", "()V", false);
+            for (int i = 0; i < handlerTypes.length; i++) {
+                final String handlerName = Type.getInternalName(handlerTypes[i]);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getListener", "()L" + EVENT_LISTENER + ";", false);
+                mv.visitTypeInsn(CHECKCAST, handlerName);
+                mv.visitFieldInsn(PUTFIELD, name, "handler" + i, Type.getDescriptor(handlerTypes[i]));
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            // Local variables: 0 = this, 1 = event, 2 = sync, 3 = cause stack frame, 4 = caught throwable
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", "(" + EVENT_DESCRIPTOR + "Z)V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < handlerTypes.length; i++) {
+                final Class<?> handlerType = handlerTypes[i];
+                final String handlerName = Type.getInternalName(handlerType);
+                final Label tryStart = new Label();
+                final Label tryEnd = new Label();
+                final Label handler = new Label();
+                final Label next = new Label();
+                mv.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/Throwable");
+
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ILOAD, 2);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "enter", ENTER_DESCRIPTOR, false);
+                mv.visitVarInsn(ASTORE, 3);
+
+                mv.visitLabel(tryStart);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "handler" + i, Type.getDescriptor(handlerType));
+                mv.visitVarInsn(ALOAD, 1);
+                if (handlerType == EventListener.class) {
+                    mv.visitMethodInsn(INVOKEINTERFACE, EVENT_LISTENER, "handle", HANDLE_METHOD_DESCRIPTOR, true);
+                } else {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, handlerName, "handle", HANDLE_METHOD_DESCRIPTOR, false);
+                }
+                mv.visitLabel(tryEnd);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ILOAD, 2);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "exit", EXIT_DESCRIPTOR, false);
+                mv.visitJumpInsn(GOTO, next);
+
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 4);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ILOAD, 2);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "exit", EXIT_DESCRIPTOR, false);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 4);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "error", ERROR_DESCRIPTOR, false);
+
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
@@ -38,6 +38,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -48,14 +50,17 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final boolean async;
     private Timing listenerTimer;
 
-    RegisteredListener(PluginContainer plugin, EventType<T> eventType, Order order, EventListener<? super T> listener, boolean beforeModifications) {
+    RegisteredListener(PluginContainer plugin, EventType<T> eventType, Order order, EventListener<? super T> listener, boolean beforeModifications,
+            boolean async) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventType = checkNotNull(eventType, "eventType");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.async = async;
     }
 
     public PluginContainer getPlugin() {
@@ -74,6 +79,15 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets whether this listener is called on the {@link AsyncEventLane}.
+     *
+     * @return Whether this listener is async
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
     public Timing getTimingsHandler() {
         if (this.listenerTimer == null) {
             this.listenerTimer = SpongeTimings.getPluginTimings(this.plugin, getHandle().getClass().getSimpleName());
@@ -81,6 +95,10 @@ public Timing getTimingsHandler() {
         return this.listenerTimer;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -102,13 +120,22 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private final EventType<?> eventType;
         private final List<RegisteredListener<?>> listeners;
+        private final List<RegisteredListener<?>> asyncListeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
+        // The amount of posts is only used as a heuristic, lost updates don't matter
+        int posts;
+        volatile boolean fuseAttempted;
+        @Nullable volatile FusedEventDispatcher dispatcher;
+
         private static final Order[] ORDERS = Order.values();
 
-        Cache(List<RegisteredListener<?>> listeners) {
+        Cache(EventType<?> eventType, List<RegisteredListener<?>> listeners, List<RegisteredListener<?>> asyncListeners) {
+            this.eventType = eventType;
             this.listeners = listeners;
+            this.asyncListeners = asyncListeners;
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -119,10 +146,24 @@ public static final class Cache {
             }
         }
 
+        public EventType<?> getEventType() {
+            return this.eventType;
+        }
+
         public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        /**
+         * Gets the listeners which are called on the {@link AsyncEventLane},
+         * these aren't included in {@link #getListeners()}.
+         *
+         * @return The async listeners
+         */
+        public List<RegisteredListener<?>> getAsyncListeners() {
+            return this.asyncListeners;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
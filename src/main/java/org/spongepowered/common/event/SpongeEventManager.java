@@ -28,8 +28,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -37,6 +35,8 @@
 import com.google.common.reflect.TypeToken;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.Event;
@@ -45,15 +45,17 @@
 import org.spongepowered.api.event.GenericEvent;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.impl.AbstractEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.config.category.AsyncEventLaneCategory;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.util.TypeTokenHelper;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
@@ -61,6 +63,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -78,81 +81,94 @@ public class SpongeEventManager implements EventManager {
 
     private static final TypeVariable<?> GENERIC_EVENT_TYPE = GenericEvent.class.getTypeParameters()[0];
 
+    /**
+     * The amount of times an event type has to be posted with the same set of
+     * listeners before a fused dispatcher is generated for it.
+     */
+    private static final int FUSE_THRESHOLD = 1000;
+
     private final Object lock = new Object();
     protected final Logger logger;
     private final PluginManager pluginManager;
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
+    private final FusedEventDispatcherFactory dispatcherFactory = new FusedEventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            this.classLoader);
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
     private final Set<Object> registeredListeners = Sets.newHashSet();
+    @Nullable private volatile AsyncEventLane asyncLane;
 
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Entries are immutable snapshots which are replaced (copy-on-write)
+     * when a listener for the event type or one of its supertypes is added
+     * or removed, other entries are left untouched. Reads from
+     * {@link #post(Event)} never acquire a lock.</p>
      */
-    private final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    private final Map<EventType<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150);
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+        // Callers must hold the lock
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
+                if (GenericEvent.class.isAssignableFrom(type)) {
+                    final TypeToken<?> genericType = eventType.getGenericType();
+                    checkNotNull(genericType);
+                    for (RegisteredListener<?> listener : listeners) {
+                        final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+                        checkNotNull(genericType1);
+                        if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
+                } else {
+                    handlers.addAll(listeners);
                 }
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        final List<RegisteredListener<?>> syncHandlers = new ArrayList<>(handlers.size());
+        final List<RegisteredListener<?>> asyncHandlers = new ArrayList<>();
+        for (RegisteredListener<?> handler : handlers) {
+            (handler.isAsync() ? asyncHandlers : syncHandlers).add(handler);
+        }
+        return new RegisteredListener.Cache(eventType, syncHandlers, asyncHandlers);
+    }
+
+    /**
+     * Rebakes the cached handlers of every event type which is a subtype
+     * of one of the given changed listener types. Entries of unrelated event
+     * types are left untouched, so their listeners can still be posted to
+     * without having to be baked again.
+     *
+     * <p>Callers must hold the lock.</p>
+     *
+     * @param changedTypes The raw event types of the added or removed listeners
+     */
+    private void rebakeHandlers(Set<Class<?>> changedTypes) {
+        for (Map.Entry<EventType<?>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+            final Class<?> cachedType = entry.getKey().getType();
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(cachedType)) {
+                    entry.setValue(bakeHandlers(entry.getKey()));
+                    break;
+                }
+            }
+        }
     }
 
     @Nullable
@@ -190,20 +206,19 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                    changedTypes.add(raw);
                     this.checker.registerListenerFor(raw);
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                rebakeHandlers(changedTypes);
+            }
         }
     }
 
@@ -238,7 +253,7 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
                         continue;
                     }
 
-                    handlers.add(createRegistration(plugin, eventType, listener, handler));
+                    handlers.add(createRegistration(plugin, eventType, listener, method.isAnnotationPresent(AsyncListener.class), handler));
                 } else {
                     methodErrors.put(method, error);
                 }
@@ -268,18 +283,18 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, TypeToken<T> eventClass, Listener listener,
-            EventListener<? super T> handler) {
-        return createRegistration(plugin, eventClass, listener.order(), listener.beforeModifications(), handler);
+            boolean async, EventListener<? super T> handler) {
+        return createRegistration(plugin, eventClass, listener.order(), listener.beforeModifications(), async, handler);
     }
 
     @SuppressWarnings("unchecked")
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, TypeToken<T> eventType, Order order,
-            boolean beforeModifications, EventListener<? super T> handler) {
+            boolean beforeModifications, boolean async, EventListener<? super T> handler) {
         TypeToken<?> genericType = null;
         if (GenericEvent.class.isAssignableFrom(eventType.getRawType())) {
             genericType = eventType.resolveType(GENERIC_EVENT_TYPE);
         }
-        return new RegisteredListener(plugin, new EventType(eventType.getRawType(), genericType), order, handler, beforeModifications);
+        return new RegisteredListener(plugin, new EventType(eventType.getRawType(), genericType), order, handler, beforeModifications, async);
     }
 
     private PluginContainer getPlugin(Object plugin) {
@@ -322,28 +337,66 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
     @Override
     public <T extends Event> void registerListener(Object plugin, TypeToken<T> eventType, Order order, boolean beforeModifications,
             EventListener<? super T> listener) {
-        register(createRegistration(getPlugin(plugin), eventType, order, beforeModifications, listener));
+        register(createRegistration(getPlugin(plugin), eventType, order, beforeModifications, false, listener));
     }
 
-    private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
+    /**
+     * Registers a listener which is called on the {@link AsyncEventLane}
+     * after all the regular listeners of the event, see {@link AsyncListener}
+     * for the ordering guarantees.
+     *
+     * @param plugin The plugin instance
+     * @param eventType The event type
+     * @param order The order relative to other async listeners
+     * @param listener The listener
+     * @param <T> The type of the event
+     */
+    public <T extends Event> void registerAsyncListener(Object plugin, TypeToken<T> eventType, Order order, EventListener<? super T> listener) {
+        register(createRegistration(getPlugin(plugin), eventType, order, false, true, listener));
+    }
 
+    /**
+     * Gets the async event lane, if any lane listener was ever posted to.
+     *
+     * @return The lane, if started
+     */
+    @Nullable
+    public AsyncEventLane getStartedAsyncEventLane() {
+        return this.asyncLane;
+    }
+
+    public AsyncEventLane getAsyncEventLane() {
+        AsyncEventLane lane = this.asyncLane;
+        if (lane == null) {
+            synchronized (this.lock) {
+                lane = this.asyncLane;
+                if (lane == null) {
+                    final AsyncEventLaneCategory category = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncEventLaneCategory();
+                    this.asyncLane = lane = new AsyncEventLane(this.logger, category.getCapacity(), category.getBatchSize());
+                }
+            }
+        }
+        return lane;
+    }
+
+    private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventType().getType());
                     // TODO: This doesn't seem right, even as it was before
                     this.checker.unregisterListenerFor(handler.getEventType().getType());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                rebakeHandlers(changedTypes);
+            }
         }
     }
 
@@ -369,7 +422,15 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        final RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        if (cache != null) {
+            return cache;
+        }
+        // Bake under the lock so that a concurrent (un)registration can't
+        // leave a stale entry behind
+        synchronized (this.lock) {
+            return this.handlersCache.computeIfAbsent(eventType, this::bakeHandlers);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -414,6 +475,44 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    @Nullable
+    private FusedEventDispatcher getFusedDispatcher(RegisteredListener.Cache cache) {
+        final FusedEventDispatcher dispatcher = cache.dispatcher;
+        if (dispatcher != null || cache.fuseAttempted) {
+            return dispatcher;
+        }
+        if (++cache.posts < FUSE_THRESHOLD) {
+            return null;
+        }
+        synchronized (cache) {
+            if (!cache.fuseAttempted) {
+                cache.fuseAttempted = true;
+                final List<RegisteredListener<?>> listeners = cache.getListeners();
+                if (!listeners.isEmpty() && listeners.size() <= FusedEventDispatcherFactory.MAX_LISTENERS
+                        && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useFusedEventDispatchers()) {
+                    try {
+                        cache.dispatcher = this.dispatcherFactory.create(cache.getEventType(), listeners);
+                    } catch (Throwable e) {
+                        this.logger.error("Failed to generate a fused dispatcher for {}", cache.getEventType(), e);
+                    }
+                }
+            }
+        }
+        return cache.dispatcher;
+    }
+
+    protected boolean post(Event event, FusedEventDispatcher dispatcher) {
+        final boolean sync = Sponge.getServer().isMainThread();
+        if (sync) {
+            TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+        }
+        dispatcher.dispatch(event, sync);
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
     @Override
     public boolean post(Event event) {
         // Allow the client thread by default so devs can actually
@@ -423,6 +522,24 @@ public boolean post(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        if (event instanceof ChangeBlockEvent && (!cache.getListeners().isEmpty() || !cache.getAsyncListeners().isEmpty())) {
+            // Listeners may hand the snapshots to other threads, so serialize
+            // lazily captured tile entity data while it can still be read
+            for (Transaction<BlockSnapshot> transaction : ((ChangeBlockEvent) event).getTransactions()) {
+                if (transaction.getOriginal() instanceof SpongeBlockSnapshot) {
+                    ((SpongeBlockSnapshot) transaction.getOriginal()).resolveTileData();
+                }
+                if (transaction.getFinal() instanceof SpongeBlockSnapshot) {
+                    ((SpongeBlockSnapshot) transaction.getFinal()).resolveTileData();
+                }
+            }
+        }
+        final FusedEventDispatcher dispatcher = getFusedDispatcher(cache);
+        final boolean cancelled = dispatcher != null ? post(event, dispatcher) : post(event, cache.getListeners());
+        if (!cache.getAsyncListeners().isEmpty()) {
+            getAsyncEventLane().offer(event, cache.getAsyncListeners());
+        }
+        return cancelled;
     }
 }
@@ -164,10 +164,33 @@ default boolean ignoresBlockTracking() {
         return false;
     }
 
+    /**
+     * Gets whether contexts of this state may skip capturing block changes,
+     * entity spawns and item drops altogether when none of the events thrown
+     * from them have listeners, and they have no owner or notifier to track.
+     *
+     * @return True if the captures may be skipped
+     * @see PhaseContext#skipsCaptures()
+     */
+    default boolean canSkipUnobservedCaptures() {
+        return false;
+    }
+
     default void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> snapshotTransaction, C context) {
 
     }
 
+    /**
+     * Gets whether {@link #handleBlockChangeWithUser} does anything for this
+     * state. If not, block changes that no event is thrown for are applied
+     * without creating their transactions.
+     *
+     * @return True if block changes are handled with their user
+     */
+    default boolean handlesBlockChangesWithUser() {
+        return false;
+    }
+
     default boolean tracksBlockSpecificDrops() {
         return false;
     }
@@ -208,7 +231,7 @@ default boolean isInteraction() {
         return false;
     }
 
-    default void postTrackBlock(BlockSnapshot snapshot, PhaseTracker tracker, C context) {
+    default void postTrackBlock(PhaseTracker tracker, C context) {
 
     }
 
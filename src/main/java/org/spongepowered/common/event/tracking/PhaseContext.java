@@ -38,6 +38,8 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.asm.util.PrettyPrinter;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.context.BlockItemDropsSupplier;
 import org.spongepowered.common.event.tracking.context.BlockItemEntityDropsSupplier;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
@@ -72,6 +74,7 @@
 
     final IPhaseState<? extends P> state; // Only temporary to verify the state creation with constructors
     protected boolean isCompleted = false;
+    private boolean skipsCaptures = false;
 
     @Nullable private CapturedBlocksSupplier blocksSupplier;
     @Nullable private BlockItemDropsSupplier blockItemDropsSupplier;
@@ -88,6 +91,9 @@
     private boolean processImmediately;
 
     @Nullable private Object source;
+    // The pool this context is handed back to once its phase is completed
+    @Nullable PhaseContextPool<?> pool;
+    boolean pooled;
 
     public P source(Object owner) {
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
@@ -185,6 +191,9 @@ public P addEntityDropCaptures() {
 
     public P buildAndSwitch() {
         this.isCompleted = true;
+        this.skipsCaptures = this.owner == null && this.notifier == null && this.state.canSkipUnobservedCaptures()
+            && !ShouldFire.CHANGE_BLOCK_EVENT && !ShouldFire.SPAWN_ENTITY_EVENT && !ShouldFire.DROP_ITEM_EVENT
+            && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useSkipUnobservedCaptures();
         PhaseTracker.getInstance().switchToPhase(this.state, this);
         return (P) this;
     }
@@ -193,6 +202,18 @@ public boolean isComplete() {
         return this.isCompleted;
     }
 
+    /**
+     * Gets whether block changes, entity spawns and item drops are applied
+     * directly instead of being captured, because nothing would observe the
+     * events thrown from the captures.
+     *
+     * @return True if captures are skipped
+     * @see IPhaseState#canSkipUnobservedCaptures()
+     */
+    public boolean skipsCaptures() {
+        return this.skipsCaptures;
+    }
+
     public PrettyPrinter printCustom(PrettyPrinter printer) {
         printer
             .add("    - %s: %s", "Owner", this.owner)
@@ -279,7 +300,7 @@ public List<BlockSnapshot> getCapturedBlocks() throws IllegalStateException {
         return this.blocksSupplier.get();
     }
 
-    public CapturedSupplier<BlockSnapshot> getCapturedBlockSupplier() throws IllegalStateException {
+    public CapturedBlocksSupplier getCapturedBlockSupplier() throws IllegalStateException {
         if (this.blocksSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing blocks, but we're not capturing them!", this).get();
         }
@@ -394,6 +415,55 @@ public void close() { // Should never throw an exception
         PhaseTracker.getInstance().completePhase(this.state);
     }
 
+    /**
+     * Hands this context back to its {@link PhaseContextPool}, if it was
+     * taken from one. Called by the {@link PhaseTracker} once the phase of
+     * this context is completed and unwound.
+     */
+    void release() {
+        if (this.pool != null) {
+            this.pool.release(this);
+        }
+    }
+
+    /**
+     * Resets this context so it can be reused by a {@link PhaseContextPool}.
+     * The captures which were added are kept, and cleared. Contexts with
+     * additional state must override this to clear it.
+     */
+    protected void reset() {
+        this.isCompleted = false;
+        this.skipsCaptures = false;
+        this.owner = null;
+        this.notifier = null;
+        this.source = null;
+        this.processImmediately = false;
+        resetIfPresent(this.blocksSupplier);
+        resetIfPresent(this.capturedItemsSupplier);
+        resetIfPresent(this.capturedEntitiesSupplier);
+        resetIfPresent(this.capturedItemStackSupplier);
+        resetIfPresent(this.blockItemDropsSupplier);
+        resetIfPresent(this.blockItemEntityDropsSupplier);
+        resetIfPresent(this.entityItemDropsSupplier);
+        resetIfPresent(this.entityItemEntityDropsSupplier);
+        resetIfPresent(this.blockEntitySpawnSupplier);
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.reset();
+        }
+    }
+
+    private static void resetIfPresent(@Nullable CapturedSupplier<?> supplier) {
+        if (supplier != null) {
+            supplier.reset();
+        }
+    }
+
+    private static void resetIfPresent(@Nullable CapturedMultiMapSupplier<?, ?> supplier) {
+        if (supplier != null) {
+            supplier.reset();
+        }
+    }
+
 
     public List<BlockSnapshot> getCapturedBlocksOrEmptyList() {
         return this.blocksSupplier != null ? this.blocksSupplier.orEmptyList() : Collections.emptyList();
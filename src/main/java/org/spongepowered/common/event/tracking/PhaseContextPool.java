@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of {@link PhaseContext}s of a single {@link IPhaseState}, for states
+ * which are entered very often such as entity and block ticks. Contexts are
+ * handed back to the pool by the {@link PhaseTracker} once their phase is
+ * completed and unwound, with their capture lists cleared but kept to be
+ * reused.
+ *
+ * <p>Contexts taken from the pool must be configured the same way every
+ * time, so the factory is expected to add all the captures, and the context
+ * must not hold any state besides what {@link PhaseContext#reset()}
+ * clears. The pool is only used on the main thread, contexts created on
+ * other threads are never pooled.</p>
+ *
+ * @param <C> The type of phase context
+ */
+public final class PhaseContextPool<C extends PhaseContext<C>> {
+
+    private static final int MAX_SIZE = 16;
+
+    private final Supplier<C> factory;
+    private final ArrayDeque<C> pool = new ArrayDeque<>(MAX_SIZE);
+
+    public PhaseContextPool(Supplier<C> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets a context from the pool, or creates a new one if the pool is
+     * empty.
+     *
+     * @return The context
+     */
+    public C get() {
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            return this.factory.get();
+        }
+        final C context = this.pool.poll();
+        if (context != null) {
+            context.pooled = false;
+            return context;
+        }
+        final C created = this.factory.get();
+        created.pool = this;
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    void release(PhaseContext<?> context) {
+        if (context.pooled || this.pool.size() >= MAX_SIZE || !SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            return;
+        }
+        context.reset();
+        context.pooled = true;
+        this.pool.push((C) context);
+    }
+
+}
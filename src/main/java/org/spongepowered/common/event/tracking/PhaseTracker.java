@@ -74,6 +74,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
@@ -150,9 +151,22 @@ public static PhaseTracker getInstance() {
     private final List<IPhaseState<?>> printedExceptionsForEntities = new ArrayList<>();
     private final List<Tuple<IPhaseState<?>, IPhaseState<?>>> completedIncorrectStates = new ArrayList<>();
     private final List<IPhaseState<?>> printedExceptionsForState = new ArrayList<>();
+    private final LongAdder skippedCaptures = new LongAdder();
 
     // ----------------- STATE ACCESS ----------------------------------
 
+    /**
+     * Counts a block change, entity spawn or item drop which was applied
+     * directly, because its phase context {@link PhaseContext#skipsCaptures()}.
+     */
+    public void markSkippedCapture() {
+        this.skippedCaptures.increment();
+    }
+
+    public long getSkippedCaptures() {
+        return this.skippedCaptures.sum();
+    }
+
     void switchToPhase(IPhaseState<?> state, PhaseContext<?> phaseContext) {
         checkNotNull(state, "State cannot be null!");
         checkNotNull(state.getPhase(), "Phase cannot be null!");
@@ -228,6 +242,7 @@ public void completePhase(IPhaseState<?> prevState) {
         } catch (Exception e) {
             this.printMessageWithCaughtException("Exception Post Dispatching Phase", "Something happened when trying to post dispatch state", state, context, e);
         }
+        context.release();
     }
 
     private void printRunnawayPhaseCompletion(IPhaseState<?> state) {
@@ -553,9 +568,25 @@ public boolean setBlockState(final IMixinWorldServer mixinWorld, final BlockPos
     }
 
     public boolean setBlockState(final IMixinWorldServer mixinWorld, final BlockPos pos, final IBlockState newState, BlockChangeFlag flag) {
+        return this.setBlockState(mixinWorld, mixinWorld.asMinecraftWorld().getChunkFromBlockCoords(pos), pos, newState, flag);
+    }
+
+    /**
+     * Sets the block state like {@link #setBlockState(IMixinWorldServer, BlockPos, IBlockState, BlockChangeFlag)},
+     * in a chunk which was already resolved, for callers setting many blocks
+     * of the same chunk.
+     *
+     * @param mixinWorld The world
+     * @param chunk The chunk containing the position
+     * @param pos The position of the block state to set
+     * @param newState The new state
+     * @param flag The change flag
+     * @return True if the block was successfully set (or captured)
+     */
+    public boolean setBlockState(final IMixinWorldServer mixinWorld, final Chunk chunk, final BlockPos pos, final IBlockState newState,
+        BlockChangeFlag flag) {
         final SpongeBlockChangeFlag spongeFlag = (SpongeBlockChangeFlag) flag;
         final net.minecraft.world.World minecraftWorld = mixinWorld.asMinecraftWorld();
-        final Chunk chunk = minecraftWorld.getChunkFromBlockCoords(pos);
         // It is now possible for setBlockState to be called on an empty chunk due to our optimization
         // for returning empty chunks when we don't want a chunk to load.
         // If chunk is empty, we simply return to avoid any further logic.
@@ -581,7 +612,9 @@ public boolean setBlockState(final IMixinWorldServer mixinWorld, final BlockPos
             // while a world is being changed unknowingly.
             this.printUnexpectedBlockChange();
         }
-        if (phaseState.requiresBlockCapturing()) {
+        if (phaseState.requiresBlockCapturing() && phaseData.context.skipsCaptures()) {
+            this.markSkippedCapture();
+        } else if (phaseState.requiresBlockCapturing()) {
             try {
                 // Default, this means we've captured the block. Keeping with the semantics
                 // of the original method where true means it successfully changed.
@@ -700,7 +733,9 @@ public boolean spawnEntity(World world, Entity entity) {
             // Finally, if all checks are true, then let the phase process the entity spawn. Most phases
             // will not actively capture entity spawns, but will still throw events for them. Some phases
             // capture all entities until the phase is marked for completion.
-            if (!isForced) {
+            if (!isForced && context.skipsCaptures()) {
+                this.markSkippedCapture();
+            } else if (!isForced) {
                 try {
                     return ((IPhaseState) phaseState).spawnEntityOrCapture(context, entity, chunkX, chunkZ);
                 } catch (Exception | NoClassDefFoundError e) {
@@ -37,6 +37,7 @@
 import net.minecraft.block.BlockRedstoneLight;
 import net.minecraft.block.BlockRedstoneRepeater;
 import net.minecraft.block.BlockRedstoneTorch;
+import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.init.Blocks;
@@ -72,6 +73,7 @@
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.tracking.context.BlockCaptureBuffer;
 import org.spongepowered.common.event.tracking.context.ItemDropData;
 import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
@@ -107,6 +109,8 @@
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A simple utility for aiding in tracking, either with resolving notifiers
  * and owners, or proxying out the logic for ticking a block, entity, etc.
@@ -138,6 +142,17 @@ public final class TrackingUtil {
         return new Transaction<>(blockSnapshot, newSnapshot);
     };
 
+    /**
+     * Creates the transaction of the captured block change at the given index,
+     * without creating the snapshots of other buffered changes.
+     */
+    public static Transaction<BlockSnapshot> createTransaction(List<BlockSnapshot> snapshots, int index) {
+        if (snapshots instanceof BlockCaptureBuffer) {
+            return ((BlockCaptureBuffer) snapshots).createTransaction(index);
+        }
+        return TRANSACTION_CREATION.apply(snapshots.get(index));
+    }
+
     public static void tickEntity(net.minecraft.entity.Entity entityIn) {
         checkArgument(entityIn instanceof Entity, "Entity %s is not an instance of SpongeAPI's Entity!", entityIn);
         checkNotNull(entityIn, "Cannot capture on a null ticking entity!");
@@ -238,6 +253,8 @@ public static void tickTileEntity(IMixinWorldServer mixinWorldServer, ITickable
 
             // Finally, switch the context now that we have the owner and notifier
             phaseContext.buildAndSwitch();
+            // Ticking may change the tile entity without marking it dirty
+            mixinTileEntity.resolvePendingSnapshotData();
 
             try (Timing timing = mixinTileEntity.getTimingsHandler().startTiming()) {
                 tile.update();
@@ -368,24 +385,40 @@ public static boolean fireMinecraftBlockEvent(WorldServer worldIn, BlockEventDat
     @SuppressWarnings("rawtypes")
     static boolean trackBlockChange(PhaseTracker phaseTracker, IMixinWorldServer mixinWorld, Chunk chunk, IBlockState currentState,
         IBlockState newState, BlockPos pos, BlockChangeFlag flags, PhaseContext<?> phaseContext, IPhaseState<?> phaseState) {
-        final SpongeBlockSnapshot originalBlockSnapshot;
         final WorldServer minecraftWorld = mixinWorld.asMinecraftWorld();
         if (((IPhaseState) phaseState).shouldCaptureBlockChangeOrSkip(phaseContext, pos)) {
             //final IBlockState actualState = currentState.getActualState(minecraftWorld, pos);
-            originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags);
             final List<BlockSnapshot> capturedSnapshots = phaseContext.getCapturedBlocks();
-            final Block newBlock = newState.getBlock();
-
-            associateBlockChangeWithSnapshot(phaseState, newBlock, currentState, originalBlockSnapshot, capturedSnapshots);
+            final BlockChange blockChange = getBlockChange(phaseState, newState.getBlock(), currentState);
             final IMixinChunk mixinChunk = (IMixinChunk) chunk;
-            final IBlockState originalBlockState = mixinChunk.setBlockState(pos, newState, currentState, originalBlockSnapshot);
-            if (originalBlockState == null) {
-                capturedSnapshots.remove(originalBlockSnapshot);
-                return false;
+            // Changes captured during this one are added after it, so it keeps this index
+            final int index = capturedSnapshots.size();
+            if (blockChange != null && capturedSnapshots instanceof BlockCaptureBuffer && !requiresSnapshotData(mixinChunk, currentState, pos)) {
+                // Nothing of the original block has to be captured right away, so the snapshot is only created when read
+                final BlockCaptureBuffer buffer = (BlockCaptureBuffer) capturedSnapshots;
+                buffer.add(minecraftWorld, pos, currentState, (SpongeBlockChangeFlag) flags, blockChange);
+                final IBlockState originalBlockState = mixinChunk.setBlockState(pos, newState, currentState, BlockSnapshot.NONE);
+                if (originalBlockState == null) {
+                    buffer.discard(index);
+                    return false;
+                }
+            } else {
+                final SpongeBlockSnapshot originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags);
+                if (blockChange != null) {
+                    originalBlockSnapshot.blockChange = blockChange;
+                    capturedSnapshots.add(originalBlockSnapshot);
+                }
+                final IBlockState originalBlockState = mixinChunk.setBlockState(pos, newState, currentState, originalBlockSnapshot);
+                if (originalBlockState == null) {
+                    if (blockChange != null) {
+                        capturedSnapshots.remove(index);
+                    }
+                    return false;
+                }
             }
-            ((IPhaseState) phaseState).postTrackBlock(originalBlockSnapshot, phaseTracker, phaseContext);
+            ((IPhaseState) phaseState).postTrackBlock(phaseTracker, phaseContext);
         } else {
-            originalBlockSnapshot = (SpongeBlockSnapshot) BlockSnapshot.NONE;
+            final SpongeBlockSnapshot originalBlockSnapshot = (SpongeBlockSnapshot) BlockSnapshot.NONE;
             final IMixinChunk mixinChunk = (IMixinChunk) chunk;
             final IBlockState originalBlockState = mixinChunk.setBlockState(pos, newState, currentState, originalBlockSnapshot);
             if (originalBlockState == null) {
@@ -403,25 +436,33 @@ static boolean trackBlockChange(PhaseTracker phaseTracker, IMixinWorldServer mix
         return true;
     }
 
-    private static void associateBlockChangeWithSnapshot(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState, SpongeBlockSnapshot snapshot, List<BlockSnapshot> capturedSnapshots) {
+    /**
+     * Gets the type of the block change, or null if it isn't captured.
+     */
+    @Nullable
+    private static BlockChange getBlockChange(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState) {
         Block originalBlock = currentState.getBlock();
         if (phaseState == BlockPhase.State.BLOCK_DECAY) {
-            if (newBlock == Blocks.AIR) {
-                snapshot.blockChange = BlockChange.DECAY;
-                capturedSnapshots.add(snapshot);
-            }
+            return newBlock == Blocks.AIR ? BlockChange.DECAY : null;
         } else if (newBlock == Blocks.AIR) {
-            snapshot.blockChange = BlockChange.BREAK;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.BREAK;
         } else if (newBlock != originalBlock && !forceModify(originalBlock, newBlock)) {
-            snapshot.blockChange = BlockChange.PLACE;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.PLACE;
         } else {
-            snapshot.blockChange = BlockChange.MODIFY;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.MODIFY;
         }
     }
 
+    /**
+     * Gets whether the snapshot of the block has to be created when the
+     * change is captured, because it has a tile entity, owner or notifier.
+     */
+    private static boolean requiresSnapshotData(IMixinChunk chunk, IBlockState currentState, BlockPos pos) {
+        return currentState.getBlock() instanceof ITileEntityProvider
+               || chunk.getBlockOwnerUUID(pos).isPresent()
+               || chunk.getBlockNotifierUUID(pos).isPresent();
+    }
+
     private static boolean forceModify(Block originalBlock, Block newBlock) {
         if (originalBlock instanceof BlockRedstoneRepeater && newBlock instanceof BlockRedstoneRepeater) {
             return true;
@@ -487,6 +528,13 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         if (snapshots.isEmpty()) {
             return false;
         }
+        if (!ShouldFire.CHANGE_BLOCK_EVENT) {
+            // Nothing can cancel or invalidate the transactions, so skip sorting them into events
+            if (snapshots instanceof BlockCaptureBuffer) {
+                return performBufferedBlockAdditions((BlockCaptureBuffer) snapshots, state, context);
+            }
+            return performBlockAdditionsWithoutEvents(snapshots, state, context);
+        }
         ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
         ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[EVENT_COUNT];
         for (int i = 0; i < EVENT_COUNT; i++) {
@@ -494,10 +542,10 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         }
         final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        for (BlockSnapshot snapshot : snapshots) {
+        for (int i = 0; i < snapshots.size(); i++) {
             // This processes each snapshot to assign them to the correct event in the next area, with the
             // correct builder array entry.
-            TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(TRANSACTION_CREATION.apply(snapshot));
+            TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(createTransaction(snapshots, i));
         }
         for (int i = 0; i < EVENT_COUNT; i++) {
             // Build each event array
@@ -576,22 +624,147 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
             if (!invalid.isEmpty()) {
                 // We need to set this value and return it to signify that some transactions were cancelled
                 noCancelledTransactions = false;
-                // NOW we restore the invalid transactions (remember invalid transactions are from either plugins marking them as invalid
-                // or the events were cancelled), again in reverse order of which they were received.
-                for (Transaction<BlockSnapshot> transaction : Lists.reverse(invalid)) {
-                    transaction.getOriginal().restore(true, BlockChangeFlags.NONE);
-                    if (state.tracksBlockSpecificDrops()) {
-                        // Cancel any block drops or harvests for the block change.
-                        // This prevents unnecessary spawns.
-                        final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
-                        if (location != null) {
-                            final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
-                            context.getBlockDropSupplier().removeAllIfNotEmpty(pos);
-                        }
+                restoreInvalidTransactions(invalid, state.tracksBlockSpecificDrops(), context);
+            }
+            return performBlockAdditions(postEvent.getTransactions(), state, context, noCancelledTransactions);
+        }
+    }
+
+    /**
+     * Restores the original blocks of the invalid transactions, which were
+     * either marked as invalid by plugins or part of cancelled events, in the
+     * reverse order of which they were received.
+     *
+     * @param invalid The invalid transactions
+     * @param removeBlockDrops Whether to cancel the block drops or harvests
+     *     of the restored block changes, to prevent unnecessary spawns
+     * @param context The context holding the captured block drops
+     */
+    public static void restoreInvalidTransactions(List<Transaction<BlockSnapshot>> invalid, boolean removeBlockDrops, PhaseContext<?> context) {
+        // Restore all of them within one phase of restoring blocks, rather than entering it per snapshot
+        try (PhaseContext<?> restoring = BlockPhase.State.RESTORING_BLOCKS.createPhaseContext().buildAndSwitch()) {
+            for (Transaction<BlockSnapshot> transaction : Lists.reverse(invalid)) {
+                transaction.getOriginal().restore(true, BlockChangeFlags.NONE);
+                if (removeBlockDrops) {
+                    final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
+                    if (location != null) {
+                        final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
+                        context.getBlockDropSupplier().removeAllIfNotEmpty(pos);
                     }
                 }
             }
-            return performBlockAdditions(postEvent.getTransactions(), state, context, noCancelledTransactions);
+        }
+    }
+
+    /**
+     * Applies the block changes of the buffer when no event is thrown for
+     * them. Nothing can cancel or invalidate the changes, so they are applied
+     * straight from the columns of the buffer. Snapshots are only created for
+     * changes with captured drops or spawns, and transactions only for logged
+     * changes and states which handle block changes with their user.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean performBufferedBlockAdditions(BlockCaptureBuffer buffer, IPhaseState<?> state, PhaseContext<?> context) {
+        // Changes captured while these are applied are added to the cleared buffer
+        final BlockCaptureBuffer changes = buffer.copy();
+        // The new states are read before any change is applied, like the final
+        // snapshots of transactions are
+        final IBlockState[] newStates = new IBlockState[changes.size()];
+        for (int i = 0; i < newStates.length; i++) {
+            newStates[i] = changes.getWorld(i).getBlockState(changes.getPosition(i));
+        }
+        context.getCapturedBlocksOrEmptyList().clear();
+        final CapturedMultiMapSupplier<BlockPos, ItemDropData> capturedBlockDrops = context.getBlockDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, EntityItem> capturedBlockItemEntityDrops = context.getBlockItemDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> capturedBlockEntitySpawns = context.getBlockEntitySpawnSupplier();
+        final PhaseTracker phaseTracker = PhaseTracker.getInstance();
+        try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            // Drops and spawns of the block changes may still throw events
+            if (context.getNotifier().isPresent()) {
+                Sponge.getCauseStackManager().addContext(EventContextKeys.NOTIFIER, context.getNotifier().get());
+            }
+            if (context.getOwner().isPresent()) {
+                Sponge.getCauseStackManager().addContext(EventContextKeys.OWNER, context.getOwner().get());
+            }
+            try {
+                state.associateAdditionalCauses(state, context);
+            } catch (Exception e) {
+                // See processBlockCaptures
+            }
+            for (int i = 0; i < changes.size(); i++) {
+                final int index = i;
+                final WorldServer world = changes.getWorld(index);
+                final BlockPos pos = changes.getPosition(index);
+                final BlockChange blockChange = changes.getBlockChange(index);
+                // Snapshots are only created for the drops and spawns which were captured
+                capturedBlockDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemDataForBlockDrops(items,
+                        (SpongeBlockSnapshot) changes.get(index), context, state));
+                capturedBlockItemEntityDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemEntitiesForBlockDrops(items,
+                        (SpongeBlockSnapshot) changes.get(index), context, state));
+                capturedBlockEntitySpawns.acceptAndRemoveIfPresent(pos, items -> spawnEntitiesForBlock(items,
+                        (SpongeBlockSnapshot) changes.get(index), context, state));
+
+                final boolean logged = SpongeHooks.isBlockActionLogged(world, blockChange);
+                final boolean handled = state.handlesBlockChangesWithUser();
+                final Transaction<BlockSnapshot> transaction = logged || handled ? changes.createTransaction(index) : null;
+                if (logged) {
+                    SpongeHooks.logBlockAction(world, blockChange, transaction);
+                }
+
+                final SpongeBlockChangeFlag changeFlag = changes.getChangeFlag(index);
+                final IBlockState originalState = changes.getOriginalState(index);
+                final IBlockState newState = newStates[index];
+                if (changeFlag.performBlockPhysics() && originalState.getBlock() != newState.getBlock()) {
+                    newState.getBlock().onBlockAdded(world, pos, newState);
+                    final PhaseData peek = phaseTracker.getCurrentPhaseData();
+                    if (peek.state == GeneralPhase.Post.UNWINDING) {
+                        ((IPhaseState) peek.state).unwind(peek.context);
+                    }
+                }
+
+                if (handled) {
+                    ((IPhaseState) state).handleBlockChangeWithUser(blockChange, transaction, context);
+                }
+
+                if (changeFlag.isNotifyClients()) {
+                    world.notifyBlockUpdate(pos, originalState, newState, changeFlag.getRawFlag());
+                }
+
+                if (changeFlag.updateNeighbors()) {
+                    ((IMixinWorldServer) world).spongeNotifyNeighborsPostBlockChange(pos, originalState, newState, changeFlag);
+                } else if (changeFlag.notifyObservers()) {
+                    world.updateObservingBlocksAt(pos, newState.getBlock());
+                }
+
+                final PhaseData peek = phaseTracker.getCurrentPhaseData();
+                if (peek.state == GeneralPhase.Post.UNWINDING) {
+                    ((IPhaseState) peek.state).unwind(peek.context);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean performBlockAdditionsWithoutEvents(List<BlockSnapshot> snapshots, IPhaseState<?> state, PhaseContext<?> context) {
+        final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>(snapshots.size());
+        for (int i = 0; i < snapshots.size(); i++) {
+            transactions.add(createTransaction(snapshots, i));
+        }
+        context.getCapturedBlocksOrEmptyList().clear();
+        try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            // Drops and spawns of the block changes may still throw events
+            if (context.getNotifier().isPresent()) {
+                Sponge.getCauseStackManager().addContext(EventContextKeys.NOTIFIER, context.getNotifier().get());
+            }
+            if (context.getOwner().isPresent()) {
+                Sponge.getCauseStackManager().addContext(EventContextKeys.OWNER, context.getOwner().get());
+            }
+            try {
+                state.associateAdditionalCauses(state, context);
+            } catch (Exception e) {
+                // See processBlockCaptures
+            }
+            return performBlockAdditions(transactions, state, context, true);
         }
     }
 
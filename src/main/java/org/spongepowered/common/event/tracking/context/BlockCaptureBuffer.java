@@ -0,0 +1,322 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeBlockChangeFlag;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import javax.annotation.Nullable;
+
+/**
+ * The captured block changes of a phase, stored in columns instead of a list
+ * of {@link SpongeBlockSnapshot}s.
+ *
+ * <p>Changes of blocks without a tile entity, owner or notifier are
+ * {@link #add(WorldServer, BlockPos, IBlockState, SpongeBlockChangeFlag, BlockChange) added}
+ * as their packed position, state, flag and change type only, and turned
+ * into snapshots once they are first {@link #get(int) read}. Other changes
+ * are added as snapshots, since their data has to be captured right away.
+ * The world, state and flag columns only refer to shared instances, so an
+ * entry doesn't allocate anything on its own.</p>
+ */
+public final class BlockCaptureBuffer extends AbstractList<BlockSnapshot> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final BlockChange[] BLOCK_CHANGES = BlockChange.values();
+
+    private WorldServer[] worlds = new WorldServer[DEFAULT_CAPACITY];
+    private long[] positions = new long[DEFAULT_CAPACITY];
+    private IBlockState[] states = new IBlockState[DEFAULT_CAPACITY];
+    private SpongeBlockChangeFlag[] flags = new SpongeBlockChangeFlag[DEFAULT_CAPACITY];
+    private byte[] changes = new byte[DEFAULT_CAPACITY];
+    private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[DEFAULT_CAPACITY];
+    // The number of captured changes per packed position
+    private final Long2IntMap positionCounts = new Long2IntOpenHashMap();
+    private int size;
+
+    /**
+     * Captures a block change without creating its snapshot.
+     *
+     * @param world The world
+     * @param pos The position
+     * @param originalState The state before the change
+     * @param flag The flag of the change
+     * @param blockChange The type of the change
+     */
+    public void add(WorldServer world, BlockPos pos, IBlockState originalState, SpongeBlockChangeFlag flag, BlockChange blockChange) {
+        insert(this.size, world, pos.toLong(), originalState, flag, blockChange, null);
+    }
+
+    @Override
+    public void add(int index, BlockSnapshot element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        final SpongeBlockSnapshot snapshot = (SpongeBlockSnapshot) element;
+        final BlockChange blockChange = snapshot.blockChange == null ? BlockChange.MODIFY : snapshot.blockChange;
+        // The world is only needed to create the snapshot of an entry
+        insert(index, null, snapshot.getBlockPos().toLong(), (IBlockState) snapshot.getState(), snapshot.getChangeFlag(), blockChange, snapshot);
+    }
+
+    private void insert(int index, @Nullable WorldServer world, long pos, IBlockState state, SpongeBlockChangeFlag flag, BlockChange blockChange,
+        @Nullable SpongeBlockSnapshot snapshot) {
+        if (this.size == this.positions.length) {
+            grow();
+        }
+        if (index < this.size) {
+            shift(index, index + 1, this.size - index);
+        }
+        this.worlds[index] = world;
+        this.positions[index] = pos;
+        this.states[index] = state;
+        this.flags[index] = flag;
+        this.changes[index] = (byte) blockChange.ordinal();
+        this.snapshots[index] = snapshot;
+        this.positionCounts.put(pos, this.positionCounts.get(pos) + 1);
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public BlockSnapshot get(int index) {
+        checkIndex(index);
+        SpongeBlockSnapshot snapshot = this.snapshots[index];
+        if (snapshot == null) {
+            final BlockState state = (BlockState) this.states[index];
+            final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
+            builder.blockState(state)
+                .extendedState(state)
+                .worldId(((World) this.worlds[index]).getUniqueId())
+                .position(toVector3i(this.positions[index]));
+            snapshot = new SpongeBlockSnapshot(builder, this.flags[index]);
+            snapshot.blockChange = BLOCK_CHANGES[this.changes[index]];
+            this.snapshots[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public BlockSnapshot set(int index, BlockSnapshot element) {
+        final BlockSnapshot previous = get(index);
+        removeInternal(index);
+        add(index, element);
+        return previous;
+    }
+
+    @Override
+    public BlockSnapshot remove(int index) {
+        final BlockSnapshot previous = get(index);
+        removeInternal(index);
+        return previous;
+    }
+
+    /**
+     * Removes the captured change at the given index, without creating its
+     * snapshot.
+     *
+     * @param index The index
+     */
+    public void discard(int index) {
+        checkIndex(index);
+        removeInternal(index);
+    }
+
+    private void removeInternal(int index) {
+        final long pos = this.positions[index];
+        final int count = this.positionCounts.get(pos);
+        if (count <= 1) {
+            this.positionCounts.remove(pos);
+        } else {
+            this.positionCounts.put(pos, count - 1);
+        }
+        if (index < this.size - 1) {
+            shift(index + 1, index, this.size - index - 1);
+        }
+        this.size--;
+        this.worlds[this.size] = null;
+        this.states[this.size] = null;
+        this.flags[this.size] = null;
+        this.snapshots[this.size] = null;
+        this.modCount++;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.worlds, 0, this.size, null);
+        Arrays.fill(this.states, 0, this.size, null);
+        Arrays.fill(this.flags, 0, this.size, null);
+        Arrays.fill(this.snapshots, 0, this.size, null);
+        this.positionCounts.clear();
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Gets whether a change was captured at the given position, without
+     * creating any snapshots.
+     *
+     * @param pos The position
+     * @return True if a change was captured at the position
+     */
+    public boolean containsPosition(BlockPos pos) {
+        return this.positionCounts.containsKey(pos.toLong());
+    }
+
+    /**
+     * Creates the transaction of the captured change at the given index,
+     * from the current state of the world at its position.
+     *
+     * @param index The index
+     * @return The transaction
+     */
+    public Transaction<BlockSnapshot> createTransaction(int index) {
+        final BlockSnapshot original = get(index);
+        final WorldServer world = getWorld(index);
+        final BlockPos pos = BlockPos.fromLong(this.positions[index]);
+        final IBlockState newState = world.getBlockState(pos);
+        final IBlockState newActualState = newState.getActualState(world, pos);
+        final BlockSnapshot newSnapshot = ((IMixinWorldServer) world).createSpongeBlockSnapshot(newState, newActualState, pos, BlockChangeFlags.NONE);
+        return new Transaction<>(original, newSnapshot);
+    }
+
+    /**
+     * Gets the world of the captured change at the given index.
+     *
+     * @param index The index
+     * @return The world
+     */
+    public WorldServer getWorld(int index) {
+        checkIndex(index);
+        final WorldServer world = this.worlds[index];
+        // Changes added as snapshots only know their world through the snapshot
+        return world != null ? world : (WorldServer) this.snapshots[index].getLocation().get().getExtent();
+    }
+
+    /**
+     * Gets the position of the captured change at the given index.
+     *
+     * @param index The index
+     * @return The position
+     */
+    public BlockPos getPosition(int index) {
+        checkIndex(index);
+        return BlockPos.fromLong(this.positions[index]);
+    }
+
+    /**
+     * Gets the state before the captured change at the given index.
+     *
+     * @param index The index
+     * @return The original state
+     */
+    public IBlockState getOriginalState(int index) {
+        checkIndex(index);
+        return this.states[index];
+    }
+
+    public SpongeBlockChangeFlag getChangeFlag(int index) {
+        checkIndex(index);
+        return this.flags[index];
+    }
+
+    public BlockChange getBlockChange(int index) {
+        checkIndex(index);
+        return BLOCK_CHANGES[this.changes[index]];
+    }
+
+    /**
+     * Creates a copy of the captured changes, which is not affected by later
+     * changes to this buffer. Snapshots which were already created are
+     * shared with the copy.
+     *
+     * @return The copy
+     */
+    public BlockCaptureBuffer copy() {
+        final BlockCaptureBuffer copy = new BlockCaptureBuffer();
+        final int capacity = Math.max(this.size, DEFAULT_CAPACITY);
+        copy.worlds = Arrays.copyOf(this.worlds, capacity);
+        copy.positions = Arrays.copyOf(this.positions, capacity);
+        copy.states = Arrays.copyOf(this.states, capacity);
+        copy.flags = Arrays.copyOf(this.flags, capacity);
+        copy.changes = Arrays.copyOf(this.changes, capacity);
+        copy.snapshots = Arrays.copyOf(this.snapshots, capacity);
+        copy.positionCounts.putAll(this.positionCounts);
+        copy.size = this.size;
+        return copy;
+    }
+
+    private void grow() {
+        final int capacity = this.positions.length << 1;
+        this.worlds = Arrays.copyOf(this.worlds, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.states = Arrays.copyOf(this.states, capacity);
+        this.flags = Arrays.copyOf(this.flags, capacity);
+        this.changes = Arrays.copyOf(this.changes, capacity);
+        this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(this.worlds, from, this.worlds, to, length);
+        System.arraycopy(this.positions, from, this.positions, to, length);
+        System.arraycopy(this.states, from, this.states, to, length);
+        System.arraycopy(this.flags, from, this.flags, to, length);
+        System.arraycopy(this.changes, from, this.changes, to, length);
+        System.arraycopy(this.snapshots, from, this.snapshots, to, length);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    private static Vector3i toVector3i(long pos) {
+        final BlockPos blockPos = BlockPos.fromLong(pos);
+        return new Vector3i(blockPos.getX(), blockPos.getY(), blockPos.getZ());
+    }
+}
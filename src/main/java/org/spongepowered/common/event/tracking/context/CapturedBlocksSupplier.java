@@ -26,8 +26,24 @@
 
 import org.spongepowered.api.block.BlockSnapshot;
 
+import java.util.List;
+
 public final class CapturedBlocksSupplier extends CapturedSupplier<BlockSnapshot> {
 
     public CapturedBlocksSupplier() {
     }
+
+    @Override
+    List<BlockSnapshot> createList() {
+        return new BlockCaptureBuffer();
+    }
+
+    /**
+     * Gets the captured block changes as their {@link BlockCaptureBuffer}.
+     *
+     * @return The capture buffer
+     */
+    public BlockCaptureBuffer getBuffer() {
+        return (BlockCaptureBuffer) get();
+    }
 }
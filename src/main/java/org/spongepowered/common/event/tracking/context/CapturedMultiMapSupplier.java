@@ -137,6 +137,16 @@ public final void removeAllIfNotEmpty(K key) {
         this.captured.removeAll(key);
     }
 
+    /**
+     * Clears the captured objects, keeping the captured {@link ListMultimap}
+     * so it can be reused.
+     */
+    public final void reset() {
+        if (this.captured != null) {
+            this.captured.clear();
+        }
+    }
+
     /**
      * If not empty, returns the captured {@link ListMultimap}.
      * Otherwise, this will return the passed list.
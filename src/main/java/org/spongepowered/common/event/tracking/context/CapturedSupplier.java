@@ -43,11 +43,20 @@
     @Override
     public final List<T> get() {
         if (this.captured == null) {
-            this.captured = new ArrayList<>();
+            this.captured = createList();
         }
         return this.captured;
     }
 
+    /**
+     * Creates the {@link List} the objects are captured in.
+     *
+     * @return The new list
+     */
+    List<T> createList() {
+        return new ArrayList<>();
+    }
+
     /**
      * Returns {@code true} if there are no captured objects.
      * 
@@ -81,6 +90,16 @@ public final List<T> orElse(List<T> list) {
         return this.isEmpty() ? list : this.captured;
     }
 
+    /**
+     * Clears the captured objects, keeping the captured {@link List} so
+     * it can be reused.
+     */
+    public final void reset() {
+        if (this.captured != null) {
+            this.captured.clear();
+        }
+    }
+
     public final List<T> orEmptyList() {
         return this.captured == null ? Collections.emptyList() : this.captured;
     }
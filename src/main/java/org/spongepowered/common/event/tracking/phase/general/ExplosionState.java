@@ -26,7 +26,6 @@
 
 import static org.spongepowered.common.event.tracking.TrackingUtil.iterateChangeBlockEvents;
 
-import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -43,7 +42,6 @@
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.api.event.entity.SpawnEntityEvent;
 import org.spongepowered.api.event.world.ExplosionEvent;
-import org.spongepowered.api.world.BlockChangeFlags;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.explosion.Explosion;
@@ -55,11 +53,9 @@
 import org.spongepowered.common.interfaces.world.IMixinLocation;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
-import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.BlockChange;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 final class ExplosionState extends GeneralState<ExplosionContext> {
@@ -141,10 +137,10 @@ private void processBlockCaptures(List<BlockSnapshot> snapshots, Explosion explo
         }
         final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        for (BlockSnapshot snapshot : snapshots) {
+        for (int i = 0; i < snapshots.size(); i++) {
             // This processes each snapshot to assign them to the correct event in the next area, with the
             // correct builder array entry.
-            TrackingUtil.TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(TrackingUtil.TRANSACTION_CREATION.apply(snapshot));
+            TrackingUtil.TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(TrackingUtil.createTransaction(snapshots, i));
         }
         for (int i = 0; i < TrackingUtil.EVENT_COUNT; i++) {
             // Build each event array
@@ -227,20 +223,7 @@ private void processBlockCaptures(List<BlockSnapshot> snapshots, Explosion explo
             if (!invalid.isEmpty()) {
                 // We need to set this value and return it to signify that some transactions were cancelled
                 noCancelledTransactions = false;
-                // NOW we restore the invalid transactions (remember invalid transactions are from either plugins marking them as invalid
-                // or the events were cancelled), again in reverse order of which they were received.
-                for (Transaction<BlockSnapshot> transaction : Lists.reverse(invalid)) {
-                    transaction.getOriginal().restore(true, BlockChangeFlags.NONE);
-                    if (this.tracksBlockSpecificDrops()) {
-                        // Cancel any block drops or harvests for the block change.
-                        // This prevents unnecessary spawns.
-                        final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
-                        if (location != null) {
-                            final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
-                            context.getBlockDropSupplier().removeAllIfNotEmpty(pos);
-                        }
-                    }
-                }
+                TrackingUtil.restoreInvalidTransactions(invalid, this.tracksBlockSpecificDrops(), context);
             }
             
             TrackingUtil.performBlockAdditions(postEvent.getTransactions(), this, context, noCancelledTransactions);
@@ -250,15 +233,7 @@ private void processBlockCaptures(List<BlockSnapshot> snapshots, Explosion explo
     @Override
     public boolean shouldCaptureBlockChangeOrSkip(ExplosionContext phaseContext,
         BlockPos pos) {
-        boolean match = false;
-        final Vector3i blockPos = VecHelper.toVector3i(pos);
-        for (final Iterator<BlockSnapshot> iterator = phaseContext.getCapturedBlocks().iterator(); iterator.hasNext(); ) {
-            final BlockSnapshot capturedSnapshot = iterator.next();
-            if (capturedSnapshot.getPosition().equals(blockPos)) {
-                match = true;
-            }
-        }
-        return !match;
+        return !phaseContext.getCapturedBlockSupplier().getBuffer().containsPosition(pos);
     }
 
     @Override
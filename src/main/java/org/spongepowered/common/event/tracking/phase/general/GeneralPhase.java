@@ -103,11 +103,11 @@ public static void processBlockTransactionListsPost(PhaseContext<?> postContext,
         }
         final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        for (BlockSnapshot snapshot : snapshotsToProcess) {
+        for (int i = 0; i < snapshotsToProcess.size(); i++) {
             // This processes each snapshot to assign them to the correct event in the next area, with the
             // correct builder array entry.
             TrackingUtil.TRANSACTION_PROCESSOR.apply(transactionBuilders)
-                    .accept(TrackingUtil.TRANSACTION_CREATION.apply(snapshot));
+                    .accept(TrackingUtil.createTransaction(snapshotsToProcess, i));
         }
 
         for (int i = 0; i < TrackingUtil.EVENT_COUNT; i++) {
@@ -160,21 +160,7 @@ public static void processBlockTransactionListsPost(PhaseContext<?> postContext,
         }
 
         if (!invalidTransactions.isEmpty()) {
-            // NOW we restore the invalid transactions (remember invalid transactions are from either plugins marking them as invalid
-            // or the events were cancelled), again in reverse order of which they were received.
-            for (Transaction<BlockSnapshot> transaction : Lists.reverse(invalidTransactions)) {
-                transaction.getOriginal().restore(true, BlockChangeFlags.NONE);
-                if (unwindingState.tracksBlockSpecificDrops()) {
-                    // Cancel any block drops or harvests for the block change.
-                    // This prevents unnecessary spawns.
-                    final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
-                    if (location != null) {
-                        // Cancel any block drops performed, avoids any item drops, regardless
-                        final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
-                        postContext.getBlockDropSupplier().removeAllIfNotEmpty(pos);
-                    }
-                }
-            }
+            TrackingUtil.restoreInvalidTransactions(invalidTransactions, unwindingState.tracksBlockSpecificDrops(), postContext);
             invalidTransactions.clear();
         }
         performPostBlockAdditions(postContext, postEvent.getTransactions(), unwindingState, unwinding);
@@ -82,6 +82,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, BasicPack
 
     }
 
+    @Override
+    public boolean handlesBlockChangesWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         BasicPacketContext context) {
@@ -69,6 +69,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, BasicPack
         context.itemUsed(itemstack);
     }
 
+    @Override
+    public boolean handlesBlockChangesWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         BasicPacketContext context) {
@@ -115,6 +115,11 @@ public boolean spawnEntityOrCapture(BlockEventTickContext context, Entity entity
         return false;
     }
 
+    @Override
+    public boolean handlesBlockChangesWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, BlockEventTickContext context) {
@@ -54,6 +54,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
@@ -71,8 +72,11 @@
 
 class EntityTickPhaseState extends TickPhaseState<EntityTickContext> {
 
+    private final PhaseContextPool<EntityTickContext> contextPool = new PhaseContextPool<>(() -> new EntityTickContext().addCaptures());
+
     EntityTickPhaseState() {
     }
+
     @SuppressWarnings("unchecked")
     @Override
     public void unwind(EntityTickContext phaseContext) {
@@ -305,10 +309,15 @@ and potentially world, which results in a dirty world usage (since the world tra
 
     @Override
     public EntityTickContext createPhaseContext() {
-        return new EntityTickContext().addCaptures();
+        return this.contextPool.get();
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Override
+    public boolean handlesBlockChangesWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         EntityTickContext context) {
@@ -67,6 +67,11 @@ public void associateNeighborStateNotifier(T context, @Nullable BlockPos sourceP
         }
     }
 
+    @Override
+    public boolean handlesBlockChangesWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, T context) {
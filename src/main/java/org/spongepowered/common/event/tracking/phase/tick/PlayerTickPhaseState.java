@@ -92,6 +92,12 @@ public void unwind(PlayerTickContext phaseContext) {
         }
     }
 
+    @Override
+    public boolean canSkipUnobservedCaptures() {
+        // Spawned entities are always assigned to the player
+        return false;
+    }
+
     @Override
     public void appendContextPreExplosion(ExplosionContext explosionContext, PlayerTickContext context) {
         final Player player = context.getSource(Player.class)
@@ -72,6 +72,11 @@ public boolean isTicking() {
         return true;
     }
 
+    @Override
+    public boolean canSkipUnobservedCaptures() {
+        return true;
+    }
+
     @Override
     public void unwind(C phaseContext) { }
 
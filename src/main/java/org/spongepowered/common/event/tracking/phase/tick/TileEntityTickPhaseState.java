@@ -40,6 +40,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
@@ -51,14 +52,16 @@
 
 class TileEntityTickPhaseState extends LocationBasedTickPhaseState<TileEntityTickContext> {
 
+    private final PhaseContextPool<TileEntityTickContext> contextPool = new PhaseContextPool<>(() -> new TileEntityTickContext()
+            .addEntityCaptures()
+            .addBlockCaptures());
+
     TileEntityTickPhaseState() {
     }
 
     @Override
     public TileEntityTickContext createPhaseContext() {
-        return new TileEntityTickContext()
-                .addEntityCaptures()
-                .addBlockCaptures();
+        return this.contextPool.get();
     }
 
     @Override
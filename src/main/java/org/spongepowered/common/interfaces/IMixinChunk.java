@@ -37,13 +37,14 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.LightingUpdateQueue;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -107,6 +108,8 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     AtomicInteger getPendingLightUpdates();
 
+    AtomicBoolean getLightUpdatesScheduled();
+
     long getLightUpdateTime();
 
     void setLightUpdateTime(long time);
@@ -117,7 +120,7 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     boolean isQueuedForUnload();
 
-    CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type);
+    LightingUpdateQueue getQueuedLightingUpdates(EnumSkyBlock type);
 
     void markChunkDirty();
 }
@@ -32,6 +32,7 @@
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.entity.spawn.SpawnType;
+import org.spongepowered.common.block.LazyTileEntityData;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
@@ -111,4 +112,27 @@ default SpawnType getTickedSpawnType() {
     void setActiveChunk(IMixinChunk chunk);
 
     boolean shouldTick();
+
+    // Snapshots
+
+    /**
+     * Gets the data shared by the block snapshots taken of this tile entity
+     * since it last changed, which is not serialized yet.
+     *
+     * @return The pending snapshot data, if any
+     */
+    @Nullable LazyTileEntityData getPendingSnapshotData();
+
+    void setPendingSnapshotData(@Nullable LazyTileEntityData data);
+
+    /**
+     * Serializes the pending snapshot data, if any, before this tile entity
+     * is about to change.
+     */
+    default void resolvePendingSnapshotData() {
+        final LazyTileEntityData data = this.getPendingSnapshotData();
+        if (data != null) {
+            data.resolve();
+        }
+    }
 }
@@ -24,10 +24,15 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface IMixinAnvilChunkLoader {
 
     // Forge method
@@ -35,4 +40,38 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets the data of a chunk which was saved but not yet written to its
+     * region file. This data is newer than the region file.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The pending chunk data, or null if there is none
+     */
+    @Nullable NBTTagCompound getPendingChunkData(int x, int z);
+
+    /**
+     * Reads, decompresses and data fixes the saved data of a chunk. This is
+     * safe to call from any thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data, or null if the chunk wasn't saved
+     * @throws IOException If the region file couldn't be read
+     */
+    @Nullable NBTTagCompound readChunkData(int x, int z) throws IOException;
+
+    /**
+     * Creates the chunk from the data read by {@link #readChunkData(int, int)},
+     * along with its entities and tile entities. This must be called from the
+     * main thread.
+     *
+     * @param world The world of the chunk
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param compound The chunk data
+     * @return The chunk, or null if the data is invalid
+     */
+    @Nullable Chunk readChunk(World world, int x, int z, NBTTagCompound compound);
+
 }
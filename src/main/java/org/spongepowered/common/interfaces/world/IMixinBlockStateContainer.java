@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.world;
+
+import net.minecraft.util.BitArray;
+import net.minecraft.world.chunk.IBlockStatePalette;
+
+public interface IMixinBlockStateContainer {
+
+    /**
+     * Gets the packed palette ids of this container, indexed by
+     * {@code y << 8 | z << 4 | x}.
+     *
+     * @return The raw id storage
+     */
+    BitArray getStorage();
+
+    /**
+     * Gets the palette the ids in {@link #getStorage()} refer to.
+     *
+     * @return The palette
+     */
+    IBlockStatePalette getPalette();
+
+    /**
+     * Gets the number of bits per id, which bounds the size of a section
+     * local palette to {@code 1 << bits} entries.
+     *
+     * @return The bits per id
+     */
+    int getBits();
+
+    /**
+     * Gets whether the ids of this container are global block state ids
+     * rather than indices into a section local palette.
+     *
+     * @return True if the registry based palette is in use
+     */
+    boolean isRegistryBased();
+
+}
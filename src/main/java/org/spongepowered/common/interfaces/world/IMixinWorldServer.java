@@ -32,6 +32,7 @@
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.data.DataContainer;
@@ -113,6 +114,24 @@ default boolean forceSpawnEntity(Entity entity) {
 
     void doChunkGC();
 
+    /**
+     * Saves the level and queues all chunks which need to be saved, to be
+     * saved in portions by {@link #saveQueuedChunks(int)}. A previous save
+     * which hasn't finished yet is replaced, and its SaveWorldEvent.Post is
+     * fired first.
+     *
+     * @throws MinecraftException If the session lock was taken
+     */
+    void queueAutoSave() throws MinecraftException;
+
+    /**
+     * Saves up to the given amount of chunks queued by {@link #queueAutoSave()}.
+     * Fires the SaveWorldEvent.Post of the save once the queue is empty.
+     *
+     * @param maxChunks The maximum amount of chunks to save
+     */
+    void saveQueuedChunks(int maxChunks);
+
     default WorldServer asMinecraftWorld() {
         return (WorldServer) this;
     }
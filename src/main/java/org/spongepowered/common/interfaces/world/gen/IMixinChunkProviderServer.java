@@ -29,12 +29,16 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface IMixinChunkProviderServer {
 
     boolean getForceChunkRequests();
 
     void setMaxChunkUnloads(int maxUnloads);
 
+    void setChunkUnloadTimeBudget(int microseconds);
+
     void setDenyChunkRequests(boolean flag);
 
     void setForceChunkRequests(boolean flag);
@@ -44,4 +48,45 @@ public interface IMixinChunkProviderServer {
     long getChunkUnloadDelay();
 
     WorldServer getWorld();
+
+    /**
+     * Provides the chunk at the given coordinates like
+     * {@link net.minecraft.world.gen.ChunkProviderServer#provideChunk(int, int)},
+     * without blocking the caller. If async chunk loading is enabled, the
+     * chunk data is read on a worker thread and only the chunk itself is
+     * created on the main thread. The future is completed on the main thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future of the chunk
+     */
+    CompletableFuture<Chunk> provideChunkAsync(int x, int z);
+
+    /**
+     * Loads the chunk at the given coordinates like
+     * {@link net.minecraft.world.gen.ChunkProviderServer#loadChunk(int, int)},
+     * without blocking the caller. Chunks which weren't saved yet aren't
+     * generated, the future is completed with null instead, and without
+     * reading them again until they are saved. The future is completed on the
+     * main thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future of the chunk, or of null if it wasn't saved
+     */
+    CompletableFuture<Chunk> loadChunkAsync(int x, int z);
+
+    /**
+     * Queues all loaded chunks which need to be saved, replacing any chunks
+     * still queued from a previous save.
+     */
+    void queueChunksForSave();
+
+    /**
+     * Saves up to the given amount of queued chunks.
+     *
+     * @param maxChunks The maximum amount of chunks to save
+     * @return True if no chunks are left in the queue
+     */
+    boolean saveQueuedChunks(int maxChunks);
 }
@@ -154,7 +154,7 @@ public static net.minecraft.inventory.Container fromMixin(IMixinContainer contai
     public static void performBlockInventoryDrops(WorldServer worldServer, double x, double y, double z, IInventory inventory) {
         final PhaseData currentPhase = PhaseTracker.getInstance().getCurrentPhaseData();
         final IPhaseState currentState = currentPhase.state;
-        if (currentState.tracksBlockSpecificDrops()) {
+        if (currentState.tracksBlockSpecificDrops() && !currentPhase.context.skipsCaptures()) {
             final PhaseContext<?> context = currentPhase.context;
             if (!currentState.ignoresItemPreMerging() && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().doDropsPreMergeItemDrops()) {
                 // Add itemstack to pre merge list
@@ -331,7 +331,7 @@ private static boolean redirectGameRulesToCaptureItemDrops(GameRules gameRules,
         if (allowTileDrops && worldIn instanceof IMixinWorldServer) {
             final PhaseData currentPhase = PhaseTracker.getInstance().getCurrentPhaseData();
             final IPhaseState currentState = currentPhase.state;
-            if (canCaptureItems && currentState.tracksBlockSpecificDrops()) {
+            if (canCaptureItems && currentState.tracksBlockSpecificDrops() && !currentPhase.context.skipsCaptures()) {
                 final PhaseContext<?> context = currentPhase.context;
                 final Multimap<BlockPos, ItemDropData> multimap = context.getCapturedBlockDrops();
                 final Collection<ItemDropData> itemStacks = multimap.get(pos);
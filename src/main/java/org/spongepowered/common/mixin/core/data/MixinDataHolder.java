@@ -47,6 +47,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.data.DataProcessor;
 import org.spongepowered.common.data.SpongeDataManager;
+import org.spongepowered.common.data.SpongeManipulatorRegistry;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.entity.player.SpongeUser;
@@ -58,6 +59,8 @@
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = {TileEntity.class, Entity.class, ItemStack.class, SpongeUser.class}, priority = 999)
 public abstract class MixinDataHolder implements DataHolder {
 
@@ -158,9 +161,9 @@ public boolean supports(Class<? extends DataManipulator<?, ?>> holderClass) {
     public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value) {
         TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
         SpongeTimings.dataOfferKey.startTimingIfSync();
-        final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = DataUtil.getBaseValueProcessor(key);
-        if (optional.isPresent()) {
-            final DataTransactionResult result = optional.get().offerToStore(this, value);
+        final ValueProcessor<E, ? extends BaseValue<E>> processor = getValueProcessor(key);
+        if (processor != null) {
+            final DataTransactionResult result = processor.offerToStore(this, value);
             SpongeTimings.dataOfferKey.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
             return result;
@@ -258,9 +261,9 @@ public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> conta
     public DataTransactionResult remove(Key<?> key) {
         TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
         SpongeTimings.dataRemoveKey.startTimingIfSync();
-        final Optional<ValueProcessor<?, ?>> optional = DataUtil.getWildValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final DataTransactionResult result = optional.get().removeFrom(this);
+        final ValueProcessor<?, ?> processor = getValueProcessor(checkNotNull(key));
+        if (processor != null) {
+            final DataTransactionResult result = processor.removeFrom(this);
             SpongeTimings.dataRemoveKey.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
             return result;
@@ -304,43 +307,25 @@ public DataTransactionResult copyFrom(DataHolder that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
-        SpongeTimings.dataGetByKey.startTimingIfSync();
-        final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = DataUtil.getBaseValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<E> value = optional.get().getValueFromContainer(this);
-            SpongeTimings.dataGetByKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return value;
+        // Not timed, key lookups are too frequent and cheap for the timings to pay off
+        final ValueProcessor<E, ? extends BaseValue<E>> processor = getValueProcessor(checkNotNull(key));
+        if (processor != null) {
+            return processor.getValueFromContainer(this);
         } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<E> custom = ((IMixinCustomDataHolder) this).getCustom(key);
-            SpongeTimings.dataGetByKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return custom;
+            return ((IMixinCustomDataHolder) this).getCustom(key);
         }
-        SpongeTimings.dataGetByKey.stopTimingIfSync();
-        TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
         return Optional.empty();
     }
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
-        SpongeTimings.dataGetValue.startTimingIfSync();
-        final Optional<ValueProcessor<E, V>> optional = DataUtil.getValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<V> value = optional.get().getApiValueFromContainer(this);
-            SpongeTimings.dataGetValue.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return value;
+        // Not timed, like get(Key)
+        final ValueProcessor<E, V> processor = getValueProcessor(checkNotNull(key));
+        if (processor != null) {
+            return processor.getApiValueFromContainer(this);
         } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<V> customValue = ((IMixinCustomDataHolder) this).getCustomValue(key);
-            SpongeTimings.dataGetValue.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return customValue;
+            return ((IMixinCustomDataHolder) this).getCustomValue(key);
         }
-        SpongeTimings.dataGetValue.stopTimingIfSync();
-        TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
         return Optional.empty();
     }
 
@@ -348,9 +333,9 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     public boolean supports(Key<?> key) {
         TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
         SpongeTimings.dataSupportsKey.startTimingIfSync();
-        final Optional<ValueProcessor<?, ?>> optional = DataUtil.getWildValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final boolean supports = optional.get().supports(this);
+        final ValueProcessor<?, ?> processor = getValueProcessor(checkNotNull(key));
+        if (processor != null) {
+            final boolean supports = processor.supports(this);
             SpongeTimings.dataSupportsKey.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
             return supports;
@@ -366,6 +351,16 @@ public boolean supports(Key<?> key) {
         return false;
     }
 
+    /**
+     * Gets the processor baked into the key, without wrapping it in an
+     * {@link Optional} as the {@link DataUtil} lookups do.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static <P extends ValueProcessor<?, ?>> P getValueProcessor(Key<?> key) {
+        return (P) SpongeManipulatorRegistry.getInstance().getDelegate(key);
+    }
+
     @Override
     public Set<Key<?>> getKeys() {
         return getContainers().stream().flatMap(container -> container.getKeys().stream()).collect(Collectors.toSet());
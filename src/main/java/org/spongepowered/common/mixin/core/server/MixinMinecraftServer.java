@@ -733,6 +733,23 @@ public void saveAllWorlds(boolean dontLog) {
                         }
                         continue;
                     }
+                    final int chunksPerTick = spongeWorld.getActiveConfig().getConfig().getWorld().getAutoSaveChunksPerTick();
+                    if (chunksPerTick > 0) {
+                        // Spread the save across ticks, which saves the chunks of every world alongside each other
+                        if (this.tickCounter % autoSaveInterval == 0) {
+                            if (logAutoSave) {
+                                LOGGER.info("Auto-saving chunks for level \'" + worldserver.getWorldInfo().getWorldName() + "\'/"
+                                        + worldserver.provider.getDimensionType().getName() + " across ticks");
+                            }
+                            try {
+                                spongeWorld.queueAutoSave();
+                            } catch (MinecraftException ex) {
+                                ex.printStackTrace();
+                            }
+                        }
+                        spongeWorld.saveQueuedChunks(chunksPerTick);
+                        continue;
+                    }
                     if (this.tickCounter % autoSaveInterval != 0) {
                         continue;
                     }
@@ -30,13 +30,21 @@
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMapEntry;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
 
 @Mixin(PlayerChunkMapEntry.class)
 public abstract class MixinPlayerChunkMapEntry implements IMixinPlayerChunkMapEntry {
@@ -48,6 +56,8 @@ public abstract class MixinPlayerChunkMapEntry implements IMixinPlayerChunkMapEn
     @Shadow public abstract void sendPacket(Packet<?> packetIn);
 
     private boolean updateBiomes;
+    // The asynchronous load of the chunk, while the chunk isn't loaded yet
+    @Nullable private CompletableFuture<Chunk> pendingLoad;
 
     @Inject(method = "update", at = @At("HEAD"), cancellable = true)
     public void resendUpdatedBiomes(CallbackInfo ci) {
@@ -61,6 +71,59 @@ public void resendUpdatedBiomes(CallbackInfo ci) {
         }
     }
 
+    @Redirect(method = "<init>", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
+    private Chunk onConstructLoadChunk(ChunkProviderServer chunkProvider, int x, int z) {
+        if (!SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncChunkLoading()) {
+            return chunkProvider.loadChunk(x, z);
+        }
+        return this.loadChunkAsync(chunkProvider, x, z, false);
+    }
+
+    @Redirect(method = "providePlayerChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
+    private Chunk onProvidePlayerChunkLoadChunk(ChunkProviderServer chunkProvider, int x, int z) {
+        if (!SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncChunkLoading()) {
+            return chunkProvider.loadChunk(x, z);
+        }
+        return this.loadChunkAsync(chunkProvider, x, z, false);
+    }
+
+    @Redirect(method = "providePlayerChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;provideChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
+    private Chunk onProvidePlayerChunkProvideChunk(ChunkProviderServer chunkProvider, int x, int z) {
+        if (!SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncChunkLoading()) {
+            return chunkProvider.provideChunk(x, z);
+        }
+        return this.loadChunkAsync(chunkProvider, x, z, true);
+    }
+
+    /**
+     * Loads the chunk of this entry without blocking the main thread. The
+     * player chunk map retries entries without a chunk every tick, so null
+     * is returned until the load has finished.
+     *
+     * <p>Chunks which weren't saved yet are only generated once it's known
+     * that they aren't saved, and still on the main thread, so generation
+     * stays within the budget of the player chunk map. The chunk provider
+     * remembers that such a chunk isn't saved, so the entry doesn't read the
+     * region file again every tick while it may not generate the chunk.</p>
+     */
+    @Nullable
+    private Chunk loadChunkAsync(ChunkProviderServer chunkProvider, int x, int z, boolean canGenerate) {
+        final Chunk chunk = chunkProvider.getLoadedChunk(x, z);
+        if (chunk != null) {
+            this.pendingLoad = null;
+            return chunk;
+        }
+        if (this.pendingLoad == null) {
+            this.pendingLoad = ((IMixinChunkProviderServer) chunkProvider).loadChunkAsync(x, z);
+        }
+        if (!this.pendingLoad.isDone()) {
+            return null;
+        }
+        // The load finished without a chunk, the chunk wasn't saved yet
+        this.pendingLoad = null;
+        return canGenerate ? chunkProvider.provideChunk(x, z) : null;
+    }
+
     @Override
     public void markBiomesForUpdate() {
         this.updateBiomes = true;
@@ -55,6 +55,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.LazyTileEntityData;
 import org.spongepowered.common.block.SpongeTileEntityArchetypeBuilder;
 import org.spongepowered.common.data.nbt.CustomDataNbtUtil;
 import org.spongepowered.common.data.persistence.NbtTranslator;
@@ -88,6 +89,7 @@ public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
     private User spongeOwner;
     private boolean hasSetOwner = false;
     private WeakReference<IMixinChunk> activeChunk = new WeakReference<>(null);
+    @Nullable private volatile LazyTileEntityData pendingSnapshotData;
 
     @Shadow protected boolean tileEntityInvalid;
     @Shadow protected net.minecraft.world.World world;
@@ -106,6 +108,7 @@ public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
 
     @Inject(method = "markDirty", at = @At(value = "HEAD"))
     public void onMarkDirty(CallbackInfo ci) {
+        this.resolvePendingSnapshotData();
         if (this.world != null && !this.world.isRemote) {
             // This handles transfers to this TE from a source such as a Hopper
             PhaseTracker.getInstance().getCurrentPhaseData().context.getSource(TileEntity.class).ifPresent(currentTick -> {
@@ -190,6 +193,11 @@ public BlockState getBlock() {
         return (BlockState) this.world.getBlockState(this.getPos());
     }
 
+    @Inject(method = "invalidate", at = @At("HEAD"))
+    public void onSpongeInvalidateHead(CallbackInfo ci) {
+        this.resolvePendingSnapshotData();
+    }
+
     @Inject(method = "invalidate", at = @At("RETURN"))
     public void onSpongeInvalidate(CallbackInfo ci) {
         this.setActiveChunk(null);
@@ -216,6 +224,11 @@ public void onWriteToNBT(NBTTagCompound compound, CallbackInfoReturnable<NBTTagC
      * @param compound The compound vanilla reads from (unused because we read from SpongeData)
      * @param ci (Unused) callback info
      */
+    @Inject(method = "Lnet/minecraft/tileentity/TileEntity;readFromNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("HEAD"))
+    public void onReadFromNBTHead(NBTTagCompound compound, CallbackInfo ci) {
+        this.resolvePendingSnapshotData();
+    }
+
     @Inject(method = "Lnet/minecraft/tileentity/TileEntity;readFromNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("RETURN"))
     public void onReadFromNBT(NBTTagCompound compound, CallbackInfo ci) {
         this.readFromNbt(this.getSpongeData());
@@ -322,6 +335,17 @@ public boolean shouldTick() {
         return true;
     }
 
+    @Override
+    @Nullable
+    public LazyTileEntityData getPendingSnapshotData() {
+        return this.pendingSnapshotData;
+    }
+
+    @Override
+    public void setPendingSnapshotData(@Nullable LazyTileEntityData data) {
+        this.pendingSnapshotData = data;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
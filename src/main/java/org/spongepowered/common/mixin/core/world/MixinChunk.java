@@ -641,6 +641,14 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
             if (!this.world.isRemote) {
                 // Sponge - Forge adds this change for block changes to only fire events when necessary
                 if (currentState.getBlock() != newState.getBlock()) {
+                    // Sponge - breaking may empty the tile entity without marking it dirty, so
+                    // serialize any data pending for its snapshots first
+                    if (SpongeImplHooks.hasBlockTileEntity(currentBlock, currentState)) {
+                        final TileEntity currentTile = this.getTileEntity(pos, EnumCreateEntityType.CHECK);
+                        if (currentTile != null) {
+                            ((IMixinTileEntity) currentTile).resolvePendingSnapshotData();
+                        }
+                    }
                     currentBlock.breakBlock(this.world, pos, currentState);
                 }
                 // Sponge - Add several tile entity hook checks. Mainly for forge added hooks, but these
@@ -693,7 +701,7 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
             // cancelled.
             final PhaseTracker phaseTracker = PhaseTracker.getInstance();
             final PhaseData peek = phaseTracker.getCurrentPhaseData();
-            final boolean requiresCapturing = peek.state.requiresBlockCapturing();
+            final boolean requiresCapturing = peek.state.requiresBlockCapturing() && !peek.context.skipsCaptures();
             if (!requiresCapturing || SpongeImplHooks.hasBlockTileEntity(newBlock, newState)) {
                 // The new block state is null if called directly from Chunk#setBlockState(BlockPos, IBlockState)
                 // If it is null, then directly call the onBlockAdded logic.
@@ -147,6 +147,7 @@
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.block.LazyTileEntityData;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.WorldCategory;
@@ -246,6 +247,8 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private boolean weatherIceAndSnowEnabled = true;
     private int dimensionId;
     private IMixinChunkProviderServer mixinChunkProviderServer;
+    // Whether the SaveWorldEvent.Post of the queued auto-save still has to be fired
+    private boolean autoSaveQueued;
 
     @Shadow @Final private MinecraftServer mcServer;
     @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
@@ -262,6 +265,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     @Shadow public abstract PlayerChunkMap getPlayerChunkMap();
     @Shadow public abstract ChunkProviderServer getChunkProvider();
     @Shadow public abstract void playerCheckLight();
+    @Shadow protected abstract void saveLevel() throws MinecraftException;
     @Shadow public abstract BlockPos adjustPosToNearbyEntity(BlockPos pos);
     @Shadow public boolean canAddEntity(net.minecraft.entity.Entity entityIn) {
         return false; // Shadowed
@@ -416,6 +420,7 @@ public void setActiveConfig(SpongeConfig<? extends GeneralConfigBase> config) {
         if (this.getChunkProvider() != null) {
             final int maxChunkUnloads = this.activeConfig.getConfig().getWorld().getMaxChunkUnloads();
             this.mixinChunkProviderServer.setMaxChunkUnloads(maxChunkUnloads < 1 ? 1 : maxChunkUnloads);
+            this.mixinChunkProviderServer.setChunkUnloadTimeBudget(this.activeConfig.getConfig().getWorld().getChunkUnloadTimeBudget());
             this.mixinChunkProviderServer.setDenyChunkRequests(this.activeConfig.getConfig().getWorld().getDenyChunkRequests());
             for (net.minecraft.entity.Entity entity : this.loadedEntityList) {
                 if (entity instanceof IModData_Activation) {
@@ -981,6 +986,42 @@ private void onSaveAllChunks(boolean saveAllChunks, IProgressUpdate progressCall
         }
     }
 
+    @Override
+    public void queueAutoSave() throws MinecraftException {
+        if (this.autoSaveQueued) {
+            // The previous save didn't finish in time, its remaining chunks are queued again by this one
+            this.postQueuedAutoSave();
+        }
+        final ChunkProviderServer chunkProviderServer = this.getChunkProvider();
+        if (!this.canChunkProviderSave(chunkProviderServer)) {
+            return;
+        }
+        this.saveLevel();
+        this.mixinChunkProviderServer.queueChunksForSave();
+        this.autoSaveQueued = true;
+        if (this.chunkGCTickInterval <= 0) {
+            // Same as the end of saveAllChunks, as there is no chunk GC to queue unused chunks for unload
+            for (net.minecraft.world.chunk.Chunk chunk : Lists.newArrayList(chunkProviderServer.getLoadedChunks())) {
+                if (chunk != null && !this.playerChunkMap.contains(chunk.x, chunk.z)) {
+                    chunkProviderServer.queueUnload(chunk);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void saveQueuedChunks(int maxChunks) {
+        // Also fires when nothing needed to be saved, the queue is empty right away then
+        if (this.mixinChunkProviderServer.saveQueuedChunks(maxChunks) && this.autoSaveQueued) {
+            this.postQueuedAutoSave();
+        }
+    }
+
+    private void postQueuedAutoSave() {
+        this.autoSaveQueued = false;
+        Sponge.getEventManager().post(SpongeEventFactory.createSaveWorldEventPost(Sponge.getCauseStackManager().getCurrentCause(), this));
+    }
+
     @Redirect(method = "sendQueuedBlockEvents", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/DimensionType;getId()I"), expect = 0, require = 0)
     private int onGetDimensionIdForBlockEvents(DimensionType dimensionType) {
         return this.getDimensionId();
@@ -1579,7 +1620,10 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         }
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
-            if (te != null) {
+            if (te != null && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useLazyTileEntitySnapshots()) {
+                // Serialized once a listener or restore reads it, or right before the tile entity changes
+                this.builder.tileData(LazyTileEntityData.of(te));
+            } else if (te != null) {
                 TileEntity tile = (TileEntity) te;
                 for (DataManipulator<?, ?> manipulator : ((IMixinCustomDataHolder) tile).getCustomManipulators()) {
                     this.builder.add(manipulator);
@@ -1595,7 +1639,10 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
                 }
             }
         }
-        return new SpongeBlockSnapshot(this.builder, (SpongeBlockChangeFlag) updateFlag);
+        final SpongeBlockSnapshot snapshot = new SpongeBlockSnapshot(this.builder, (SpongeBlockChangeFlag) updateFlag);
+        // Don't keep the lazy tile entity data, and so the tile entity, alive in the reused builder
+        this.builder.reset();
+        return snapshot;
     }
 
     /**
@@ -26,20 +26,50 @@
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BitArray;
 import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.IBlockStatePalette;
 import net.minecraft.world.chunk.NibbleArray;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
 
 import javax.annotation.Nullable;
 
 @Mixin(BlockStateContainer.class)
-public abstract class MixinBlockStateContainer {
+public abstract class MixinBlockStateContainer implements IMixinBlockStateContainer {
+
+    @Shadow @Final protected static IBlockStatePalette REGISTRY_BASED_PALETTE;
+
+    @Shadow protected BitArray storage;
+    @Shadow protected IBlockStatePalette palette;
+    @Shadow private int bits;
 
     @Shadow protected abstract void set(int index, IBlockState state);
 
+    @Override
+    public BitArray getStorage() {
+        return this.storage;
+    }
+
+    @Override
+    public IBlockStatePalette getPalette() {
+        return this.palette;
+    }
+
+    @Override
+    public int getBits() {
+        return this.bits;
+    }
+
+    @Override
+    public boolean isRegistryBased() {
+        return this.palette == REGISTRY_BASED_PALETTE;
+    }
+
     /**
      * @author barteks2x
      *
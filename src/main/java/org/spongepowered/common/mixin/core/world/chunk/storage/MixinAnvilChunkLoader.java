@@ -29,8 +29,11 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
@@ -68,18 +71,25 @@
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.storage.ChunkSaveEngine;
+import org.spongepowered.common.world.storage.ParallelRegionSaveEngine;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
     private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
     private final Object lock = new Object();
+    @Nullable private ChunkSaveEngine saveEngine;
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
@@ -88,10 +98,36 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
+    @Shadow @Final private DataFixer fixer;
 
     @Shadow
     public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
 
+    @Shadow @Nullable protected abstract Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onConstruct(File chunkSaveLocation, DataFixer dataFixer, CallbackInfo ci) {
+        if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParallelChunkSaving()) {
+            this.saveEngine = new ParallelRegionSaveEngine(chunkSaveLocation.getPath(), this::writeChunkData, this::onChunkWritten);
+        }
+    }
+
+    private void onChunkWritten(ChunkPos pos, NBTTagCompound compound) {
+        synchronized (this.lock) {
+            // This will not equal if a newer version is still pending
+            if (this.chunksToSave.get(pos) == compound) {
+                this.chunksToSave.remove(pos);
+            }
+        }
+    }
+
+    @Inject(method = "flush", at = @At("HEAD"))
+    private void onFlush(CallbackInfo ci) {
+        if (this.saveEngine != null) {
+            this.saveEngine.flush();
+        }
+    }
+
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
@@ -235,6 +271,12 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
         synchronized (this.lock) {
             this.chunksToSave.put(pos, compound);
         }
+        // Sponge start - Let the save engine write the chunk if present
+        if (this.saveEngine != null) {
+            this.saveEngine.queue(pos, compound);
+            return;
+        }
+        // Sponge end
         this.queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
@@ -307,4 +349,32 @@ public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Nullable
+    @Override
+    public NBTTagCompound getPendingChunkData(int x, int z) {
+        return this.chunksToSave.get(new ChunkPos(x, z));
+    }
+
+    @Nullable
+    @Override
+    public NBTTagCompound readChunkData(int x, int z) throws IOException {
+        // Data still waiting to be written is newer than the region file
+        final NBTTagCompound pending = getPendingChunkData(x, z);
+        if (pending != null) {
+            return pending;
+        }
+        try (DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z)) {
+            if (stream == null) {
+                return null;
+            }
+            return this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(stream));
+        }
+    }
+
+    @Nullable
+    @Override
+    public Chunk readChunk(World world, int x, int z, NBTTagCompound compound) {
+        return this.checkedReadChunkFromNBT(world, x, z, compound);
+    }
+
 }
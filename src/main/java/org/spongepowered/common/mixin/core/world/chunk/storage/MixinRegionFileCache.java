@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.storage.RegionFileLruCache;
+import org.spongepowered.common.world.storage.WorldStorageUtil;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+@Mixin(RegionFileCache.class)
+public abstract class MixinRegionFileCache {
+
+    @Shadow @Final private static Map<File, RegionFile> REGIONS_BY_FILE;
+
+    @Redirect(method = "<clinit>", at = @At(value = "INVOKE", target = "Lcom/google/common/collect/Maps;newHashMap()Ljava/util/HashMap;", remap = false))
+    private static HashMap<File, RegionFile> onCreateRegionsMap() {
+        return new RegionFileLruCache(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkSavingCategory().getRegionFileCacheSize());
+    }
+
+    /**
+     * @author SpongePowered - October 16th, 2026
+     * @reason Vanilla closes all the open region files once 256 are open,
+     * the {@link RegionFileLruCache} evicts the least recently used region
+     * file instead. A region file that was evicted while still in use is
+     * revived rather than opened a second time.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The region file
+     */
+    @Overwrite
+    public static synchronized RegionFile createOrLoadRegionFile(File worldDir, int chunkX, int chunkZ) {
+        final File regionDir = new File(worldDir, "region");
+        final File file = new File(regionDir, "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+        RegionFile regionFile = REGIONS_BY_FILE.get(file);
+        if (regionFile != null) {
+            return regionFile;
+        }
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        regionFile = cache == null ? null : cache.revive(file);
+        if (regionFile == null) {
+            if (!regionDir.exists()) {
+                regionDir.mkdirs();
+            }
+            regionFile = new RegionFile(file);
+        }
+        REGIONS_BY_FILE.put(file, regionFile);
+        return regionFile;
+    }
+
+    /**
+     * @author SpongePowered - October 16th, 2026
+     * @reason Closes only the region files which aren't being read or
+     * written, the others are closed once they are released.
+     */
+    @Overwrite
+    public static synchronized void clearRegionFileReferences() {
+        WorldStorageUtil.closeMappedRegions();
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        if (cache != null) {
+            cache.closeAll();
+            return;
+        }
+        for (RegionFile regionFile : REGIONS_BY_FILE.values()) {
+            try {
+                if (regionFile != null) {
+                    regionFile.close();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        REGIONS_BY_FILE.clear();
+    }
+
+    /**
+     * @author SpongePowered - October 16th, 2026
+     * @reason Holds a reference to the region file while the chunk is read,
+     * so it can't be closed by an eviction in the meantime.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The chunk data, or null if the chunk isn't saved
+     */
+    @Overwrite
+    @Nullable
+    public static DataInputStream getChunkInputStream(File worldDir, int chunkX, int chunkZ) {
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        final RegionFile regionFile;
+        synchronized (RegionFileCache.class) {
+            regionFile = createOrLoadRegionFile(worldDir, chunkX, chunkZ);
+            if (cache != null) {
+                cache.retain(regionFile);
+            }
+        }
+        try {
+            return regionFile.getChunkDataInputStream(chunkX & 31, chunkZ & 31);
+        } finally {
+            if (cache != null) {
+                cache.release(regionFile);
+            }
+        }
+    }
+
+    /**
+     * @author SpongePowered - October 16th, 2026
+     * @reason Holds a reference to the region file until the returned stream
+     * is closed, which is when the chunk is actually written, so it can't be
+     * closed by an eviction in the meantime.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The stream to write the chunk data to
+     */
+    @Overwrite
+    public static DataOutputStream getChunkOutputStream(File worldDir, int chunkX, int chunkZ) {
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        final RegionFile regionFile;
+        synchronized (RegionFileCache.class) {
+            regionFile = createOrLoadRegionFile(worldDir, chunkX, chunkZ);
+            if (cache != null) {
+                cache.retain(regionFile);
+            }
+        }
+        final DataOutputStream stream = regionFile.getChunkDataOutputStream(chunkX & 31, chunkZ & 31);
+        if (cache == null) {
+            return stream;
+        }
+        if (stream == null) {
+            cache.release(regionFile);
+            return null;
+        }
+        return cache.releaseOnClose(regionFile, stream);
+    }
+
+}
@@ -24,8 +24,13 @@
  */
 package org.spongepowered.common.mixin.core.world.gen;
 
+import co.aikar.timings.WorldTimingsHandler;
 import com.flowpowered.math.vector.Vector3i;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -65,12 +70,20 @@
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.storage.ChunkLoadExecutors;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 @Mixin(ChunkProviderServer.class)
 public abstract class MixinChunkProviderServer implements WorldStorage, IMixinChunkProviderServer {
@@ -80,6 +93,14 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     private boolean forceChunkRequests = false;
     private long chunkUnloadDelay = 15000;
     private int maxChunkUnloads = 100;
+    private long chunkUnloadTimeBudget = 0;
+    private final Deque<Chunk> chunkSaveQueue = new ArrayDeque<>();
+    // Only accessed from the main thread
+    private final Long2ObjectMap<CompletableFuture<Chunk>> pendingChunkLoads = new Long2ObjectOpenHashMap<>();
+    // The pending chunk loads of chunks which were saved while their data was read
+    private final LongSet staleChunkLoads = new LongOpenHashSet();
+    // The chunks which were found not to be saved, until they are saved
+    private final LongSet absentChunks = new LongOpenHashSet();
 
     @Shadow @Final public WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -102,6 +123,7 @@ private void onConstruct(WorldServer worldObjIn, IChunkLoader chunkLoaderIn, ICh
         this.denyChunkRequests = spongeConfig.getConfig().getWorld().getDenyChunkRequests();
         this.chunkUnloadDelay = spongeConfig.getConfig().getWorld().getChunkUnloadDelay() * 1000;
         this.maxChunkUnloads = spongeConfig.getConfig().getWorld().getMaxChunkUnloads();
+        this.setChunkUnloadTimeBudget(spongeConfig.getConfig().getWorld().getChunkUnloadTimeBudget());
     }
 
     @Override
@@ -114,7 +136,7 @@ public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
             throw new UnsupportedOperationException("unknown chunkLoader");
         }
-        return new SpongeChunkDataStream(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir());
+        return new SpongeChunkDataStream((IMixinAnvilChunkLoader) this.chunkLoader);
     }
 
     @Override
@@ -163,6 +185,95 @@ private Chunk loadChunkForce(int x, int z) {
         return chunk;
     }
 
+    @Override
+    public CompletableFuture<Chunk> provideChunkAsync(int x, int z) {
+        // Chunks which weren't saved yet are provided like any other chunk
+        return this.loadChunkAsync(x, z).thenApplyAsync(chunk -> chunk != null ? chunk : this.provideChunk(x, z), ChunkLoadExecutors.MAIN_THREAD);
+    }
+
+    @Override
+    public CompletableFuture<Chunk> loadChunkAsync(int x, int z) {
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            return CompletableFuture.supplyAsync(() -> this.loadChunkAsync(x, z), ChunkLoadExecutors.MAIN_THREAD)
+                    .thenCompose(future -> future);
+        }
+        final Chunk loadedChunk = this.getLoadedChunk(x, z);
+        if (loadedChunk != null) {
+            return CompletableFuture.completedFuture(loadedChunk);
+        }
+        final long key = ChunkPos.asLong(x, z);
+        CompletableFuture<Chunk> future = this.pendingChunkLoads.get(key);
+        if (future != null) {
+            return future;
+        }
+        if (this.absentChunks.contains(key)) {
+            // Don't read the region file again for a chunk which can't be in it
+            return CompletableFuture.completedFuture(null);
+        }
+        if (this.chunkLoader instanceof IMixinAnvilChunkLoader && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncChunkLoading()) {
+            final IMixinAnvilChunkLoader anvilChunkLoader = (IMixinAnvilChunkLoader) this.chunkLoader;
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return anvilChunkLoader.readChunkData(x, z);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, ChunkLoadExecutors.reader()).handleAsync((compound, throwable) -> {
+                if (throwable != null) {
+                    SpongeImpl.getLogger().error("Couldn't load chunk {}, {} of {}", x, z, this.world.getWorldInfo().getWorldName(), throwable);
+                }
+                return this.finishChunkLoad(x, z, compound, throwable != null);
+            }, ChunkLoadExecutors.MAIN_THREAD);
+        } else {
+            future = CompletableFuture.completedFuture(this.loadChunk(x, z));
+        }
+        if (!future.isDone()) {
+            this.pendingChunkLoads.put(key, future);
+            future.whenComplete((chunk, throwable) -> this.pendingChunkLoads.remove(key));
+        }
+        return future;
+    }
+
+    @Nullable
+    private Chunk finishChunkLoad(int x, int z, @Nullable NBTTagCompound compound, boolean failed) {
+        final long key = ChunkPos.asLong(x, z);
+        final boolean stale = this.staleChunkLoads.remove(key);
+        // The chunk may have been loaded synchronously while its data was read
+        Chunk chunk = this.getLoadedChunk(x, z);
+        if (chunk != null) {
+            return chunk;
+        }
+        if (stale) {
+            // The chunk was saved while its data was read, so it was loaded and
+            // unloaded in the meantime. Read it again so that save isn't rolled back.
+            try {
+                compound = ((IMixinAnvilChunkLoader) this.chunkLoader).readChunkData(x, z);
+                failed = false;
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Couldn't load chunk {}, {} of {}", x, z, this.world.getWorldInfo().getWorldName(), e);
+                return null;
+            }
+        }
+        if (compound == null) {
+            if (!failed) {
+                // Remembered until the chunk is saved, so requests of chunks which
+                // weren't generated yet don't read the region file every time
+                this.absentChunks.add(key);
+            }
+            return null;
+        }
+        chunk = ((IMixinAnvilChunkLoader) this.chunkLoader).readChunk(this.world, x, z, compound);
+        if (chunk != null) {
+            // Same as loadChunkFromFile and loadChunk
+            chunk.setLastSaveTime(this.world.getTotalWorldTime());
+            this.chunkGenerator.recreateStructures(chunk, x, z);
+            this.id2ChunkMap.put(ChunkPos.asLong(x, z), chunk);
+            chunk.onLoad();
+            chunk.populate((ChunkProviderServer) (Object) this, this.chunkGenerator);
+        }
+        return chunk;
+    }
+
     @Redirect(method = "provideChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
     public Chunk onProvideChunkHead(ChunkProviderServer chunkProviderServer, int x, int z) {
         if (!this.denyChunkRequests) {
@@ -248,6 +359,11 @@ public void setMaxChunkUnloads(int maxUnloads) {
         this.maxChunkUnloads = maxUnloads;
     }
 
+    @Override
+    public void setChunkUnloadTimeBudget(int microseconds) {
+        this.chunkUnloadTimeBudget = TimeUnit.MICROSECONDS.toNanos(Math.max(0, microseconds));
+    }
+
     @Override
     public void setForceChunkRequests(boolean flag) {
         this.forceChunkRequests = flag;
@@ -267,7 +383,9 @@ public long getChunkUnloadDelay() {
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
      * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * can unload or not. Unloading stops once the chunk unload time budget
+     * of the tick is spent, the remaining chunks are unloaded by the next
+     * ticks.
      *
      * @return true if unload queue was processed
      */
@@ -276,11 +394,17 @@ public boolean tick()
     {
         if (!this.world.disableLevelSaving)
         {
-            ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.startTiming();
+            final WorldTimingsHandler timings = ((IMixinWorldServer) this.world).getTimingsHandler();
+            timings.doChunkUnload.startTiming();
             Iterator<Chunk> iterator = this.id2ChunkMap.values().iterator();
             int chunksUnloaded = 0;
             long now = System.currentTimeMillis();
+            final long start = System.nanoTime();
             while (chunksUnloaded < this.maxChunkUnloads && iterator.hasNext()) {
+                // Leave the remaining chunks for the next ticks once the time budget is spent
+                if (this.chunkUnloadTimeBudget > 0 && System.nanoTime() - start >= this.chunkUnloadTimeBudget) {
+                    break;
+                }
                 Chunk chunk = iterator.next();
                 IMixinChunk spongeChunk = (IMixinChunk) chunk;
                 if (chunk != null && chunk.unloadQueued && !spongeChunk.isPersistedChunk()) {
@@ -291,19 +415,49 @@ public boolean tick()
                         spongeChunk.setScheduledForUnload(-1);
                     }
                     chunk.onUnload();
+                    timings.doChunkUnloadSave.startTiming();
                     this.saveChunkData(chunk);
                     this.saveChunkExtraData(chunk);
+                    timings.doChunkUnloadSave.stopTiming();
                     iterator.remove();
                     chunksUnloaded++;
                 }
             }
-            ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.stopTiming();
+            timings.doChunkUnload.stopTiming();
         }
 
         this.chunkLoader.chunkTick();
         return false;
     }
 
+    @Override
+    public void queueChunksForSave() {
+        this.chunkSaveQueue.clear();
+        for (Chunk chunk : this.id2ChunkMap.values()) {
+            if (chunk.needsSaving(true)) {
+                this.chunkSaveQueue.add(chunk);
+            }
+        }
+    }
+
+    @Override
+    public boolean saveQueuedChunks(int maxChunks) {
+        int chunksSaved = 0;
+        while (chunksSaved < maxChunks && !this.chunkSaveQueue.isEmpty()) {
+            final Chunk chunk = this.chunkSaveQueue.poll();
+            // Chunks unloaded since they were queued were already saved by the unload
+            if (this.id2ChunkMap.get(ChunkPos.asLong(chunk.x, chunk.z)) != chunk || !chunk.needsSaving(true)) {
+                continue;
+            }
+            // The chunk is written to nbt here, the anvil chunk loader hands the write itself to the file IO thread
+            this.saveChunkExtraData(chunk);
+            this.saveChunkData(chunk);
+            chunk.setModified(false);
+            chunksSaved++;
+        }
+        return this.chunkSaveQueue.isEmpty();
+    }
+
     // Copy of getLoadedChunk without marking chunk active.
     // This allows the chunk to unload if currently queued.
     @Override
@@ -324,6 +478,12 @@ public void onCanSave(CallbackInfoReturnable<Boolean> cir) {
     public void onSaveChunkData(Chunk chunkIn, CallbackInfo ci) {
         if (((WorldProperties)this.world.getWorldInfo()).getSerializationBehavior() == SerializationBehaviors.NONE) {
             ci.cancel();
+            return;
+        }
+        final long key = ChunkPos.asLong(chunkIn.x, chunkIn.z);
+        this.absentChunks.remove(key);
+        if (this.pendingChunkLoads.containsKey(key)) {
+            this.staleChunkLoads.add(key);
         }
     }
 
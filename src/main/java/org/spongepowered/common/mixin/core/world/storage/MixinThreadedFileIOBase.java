@@ -30,8 +30,11 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.storage.ParallelRegionSaveEngine;
 
 import java.util.List;
 
@@ -54,4 +57,14 @@ public void onProcessQueueThreadSleep(long millis) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Chunks saved through the parallel save engine never reach this queue,
+     * so they are written first. Every path that closes the region files
+     * waits for this thread beforehand.
+     */
+    @Inject(method = "waitForFinish", at = @At("HEAD"))
+    private void onWaitForFinish(CallbackInfo ci) {
+        ParallelRegionSaveEngine.flushAll();
+    }
 }
@@ -44,22 +44,25 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.LightingUpdateQueue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Mixin(value = Chunk.class, priority = 1002)
 public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
 
     // Keeps track of block positions in this chunk currently queued for sky light update
-    private CopyOnWriteArrayList<Short> queuedSkyLightingUpdates = new CopyOnWriteArrayList<>();
+    private final LightingUpdateQueue queuedSkyLightingUpdates = new LightingUpdateQueue();
     // Keeps track of block positions in this chunk currently queued for block light update
-    private CopyOnWriteArrayList<Short> queuedBlockLightingUpdates = new CopyOnWriteArrayList<>();
+    private final LightingUpdateQueue queuedBlockLightingUpdates = new LightingUpdateQueue();
+    // Whether a task processing the queued light updates is scheduled
+    private final AtomicBoolean lightUpdatesScheduled = new AtomicBoolean();
     private AtomicInteger pendingLightUpdates = new AtomicInteger();
     private long lightUpdateTime;
     private ExecutorService lightExecutorService;
@@ -105,6 +108,11 @@ public AtomicInteger getPendingLightUpdates() {
         return this.pendingLightUpdates;
     }
 
+    @Override
+    public AtomicBoolean getLightUpdatesScheduled() {
+        return this.lightUpdatesScheduled;
+    }
+
     @Override
     public long getLightUpdateTime() {
         return this.lightUpdateTime;
@@ -691,13 +699,13 @@ private boolean checkWorldLight(BlockPos pos, List<Chunk> neighbors) {
     }
 
     /**
-     * Gets the list of block positions currently queued for lighting updates.
+     * Gets the queue of block positions currently queued for lighting updates.
      * 
      * @param type The light type
-     * @return The list of queued block positions, empty if none
+     * @return The queue of block positions
      */
     @Override
-    public CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type) {
+    public LightingUpdateQueue getQueuedLightingUpdates(EnumSkyBlock type) {
         if (type == EnumSkyBlock.SKY) {
             return this.queuedSkyLightingUpdates;
         }
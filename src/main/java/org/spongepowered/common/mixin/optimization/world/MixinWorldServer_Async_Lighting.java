@@ -40,10 +40,12 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.LightingUpdateQueue;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.Nullable;
 
@@ -54,6 +56,7 @@ public abstract class MixinWorldServer_Async_Lighting extends MixinWorld impleme
     private static final int NUM_SHORT_Y_BITS = 8;
     private static final short XZ_MASK = 0xF;
     private static final short Y_SHORT_MASK = 0xFF;
+    private static final int LIGHT_UPDATE_BATCH_SIZE = 64;
 
     private ExecutorService lightExecutorService = 
                 Executors.newFixedThreadPool(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
@@ -69,7 +72,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -184,15 +186,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
-            spongeChunk.getPendingLightUpdates().decrementAndGet();
-            for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                neighbor.getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -214,15 +207,87 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         }
 
         final short shortPos = this.blockPosToShort(pos);
-        if (spongeChunk.getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        final LightingUpdateQueue queue = spongeChunk.getQueuedLightingUpdates(lightType);
+        final Chunk chunk = currentChunk;
+        final boolean mainThread = SpongeImpl.getServer().isCallingFromMinecraftThread();
+        if (mainThread ? !queue.offer(shortPos) : !queue.mark(shortPos)) {
             return false;
         }
-
-        final Chunk chunk = currentChunk;
-        spongeChunk.getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
         spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
 
+        if (mainThread) {
+            // Updates queued while the chunk is already scheduled are picked up
+            // by the scheduled task, as a batch
+            if (spongeChunk.getLightUpdatesScheduled().compareAndSet(false, true)) {
+                final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+                this.markPendingLightUpdate(chunk, neighbors);
+                try {
+                    this.lightExecutorService.execute(() -> this.processLightUpdates(chunk, neighbors));
+                } catch (RejectedExecutionException e) {
+                    // The server is stopping, the queued updates are discarded with the chunk
+                    spongeChunk.getLightUpdatesScheduled().set(false);
+                    this.clearPendingLightUpdate(chunk, neighbors);
+                    return false;
+                }
+            }
+        } else {
+            final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+            this.markPendingLightUpdate(chunk, neighbors);
+            try {
+                this.checkLightAsync(lightType, pos, chunk, neighbors);
+            } finally {
+                queue.unmark(shortPos);
+                this.clearPendingLightUpdate(chunk, neighbors);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Processes the queued light updates of a chunk in batches, until its
+     * queues are empty.
+     *
+     * @param chunk The chunk
+     * @param neighbors A thread-safe list of surrounding neighbor chunks
+     */
+    private void processLightUpdates(Chunk chunk, List<Chunk> neighbors) {
+        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+        final LightingUpdateQueue skyQueue = spongeChunk.getQueuedLightingUpdates(EnumSkyBlock.SKY);
+        final LightingUpdateQueue blockQueue = spongeChunk.getQueuedLightingUpdates(EnumSkyBlock.BLOCK);
+        final short[] batch = new short[LIGHT_UPDATE_BATCH_SIZE];
+        boolean scheduled = true;
+        try {
+            while (scheduled) {
+                this.processLightUpdates(EnumSkyBlock.SKY, skyQueue, batch, chunk, neighbors);
+                this.processLightUpdates(EnumSkyBlock.BLOCK, blockQueue, batch, chunk, neighbors);
+                spongeChunk.getLightUpdatesScheduled().set(false);
+                // Updates queued after the queues were drained, but before the flag was
+                // cleared, didn't schedule a new task
+                scheduled = (!skyQueue.isEmpty() || !blockQueue.isEmpty()) && spongeChunk.getLightUpdatesScheduled().compareAndSet(false, true);
+            }
+        } finally {
+            if (scheduled) {
+                spongeChunk.getLightUpdatesScheduled().set(false);
+            }
+            this.clearPendingLightUpdate(chunk, neighbors);
+        }
+    }
+
+    private void processLightUpdates(EnumSkyBlock lightType, LightingUpdateQueue queue, short[] batch, Chunk chunk, List<Chunk> neighbors) {
+        final int blockX = chunk.x << 4;
+        final int blockZ = chunk.z << 4;
+        int count;
+        while ((count = queue.drainTo(batch)) > 0) {
+            for (int i = 0; i < count; i++) {
+                final short shortPos = batch[i];
+                final BlockPos pos = new BlockPos(blockX | (shortPos & XZ_MASK), (shortPos >> 4) & Y_SHORT_MASK, blockZ | ((shortPos >> 12) & XZ_MASK));
+                this.checkLightAsync(lightType, pos, chunk, neighbors);
+            }
+        }
+    }
+
+    private List<Chunk> getLightNeighbors(IMixinChunk spongeChunk) {
         List<Chunk> neighbors = spongeChunk.getNeighbors();
         // add diagonal chunks
         Chunk southEastChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(2);
@@ -241,23 +306,26 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         if (northWestChunk != null) {
             neighbors.add(northWestChunk);
         }
+        return neighbors;
+    }
 
+    // Keeps the chunk and its neighbors from unloading while light updates are pending
+    private void markPendingLightUpdate(Chunk chunk, List<Chunk> neighbors) {
+        final long time = chunk.getWorld().getTotalWorldTime();
+        ((IMixinChunk) chunk).getPendingLightUpdates().incrementAndGet();
         for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
             neighbor.getPendingLightUpdates().incrementAndGet();
-            neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.setLightUpdateTime(time);
         }
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.lightExecutorService.execute(() -> {
-                this.checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
+    private void clearPendingLightUpdate(Chunk chunk, List<Chunk> neighbors) {
+        ((IMixinChunk) chunk).getPendingLightUpdates().decrementAndGet();
+        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
+            neighbor.getPendingLightUpdates().decrementAndGet();
         }
-
-        return true;
     }
 
     @Override
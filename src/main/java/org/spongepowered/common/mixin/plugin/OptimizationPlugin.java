@@ -99,6 +99,8 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::useAsyncLighting)
             .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.chunk.storage.MixinRegionFile_Positional_Write",
+                    OptimizationCategory::useParallelChunkSaving)
             .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProviderServer_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
             .put("org.spongepowered.common.mixin.optimization.world.gen.structure.MixinMapGenStructure_Structure_Saving",
@@ -26,8 +26,11 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.Timing;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,6 +54,7 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -59,6 +63,7 @@
 import org.spongepowered.api.entity.EntityTypes;
 import org.spongepowered.api.entity.explosive.FusedExplosive;
 import org.spongepowered.api.entity.projectile.Projectile;
+import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.config.SpongeConfig;
@@ -73,7 +78,14 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import javax.annotation.Nullable;
 
 public class EntityActivationRange {
 
@@ -86,14 +98,17 @@ public class EntityActivationRange {
             .build();
 
     static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    static AxisAlignedBB activationBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
+    private static final ForkJoinPool ACTIVATION_POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Sponge - Entity Activation #" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
     /**
      * Initializes an entities type on construction to specify what group this
      * entity is in for activation ranges.
@@ -215,55 +230,140 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>The activation boxes of all the players are merged into a single set
+     * of chunks first, so every chunk, and every entity in it, is only
+     * checked once per tick no matter how many players are close to it.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        if (((IMixinWorld) world).isFake()) {
+        if (((IMixinWorld) world).isFake() || world.playerEntities.isEmpty()) {
             return;
         }
 
-        for (EntityPlayer player : world.playerEntities) {
-
+        final Timing timing = ((IMixinWorldServer) world).getTimingsHandler().entityActivation;
+        timing.startTiming();
+        try {
+            final long currentTick = SpongeImpl.getServer().getTickCounter();
             int maxRange = 0;
             for (Integer range : maxActivationRanges.values()) {
                 if (range > maxRange) {
                     maxRange = range;
                 }
             }
-
             maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+
+            // Collect the chunks in range of any player, with the players in range of each chunk
+            final Long2ObjectMap<List<EntityPlayer>> playersByChunk = new Long2ObjectOpenHashMap<>();
+            for (EntityPlayer player : world.playerEntities) {
+                ((IModData_Activation) player).setActivatedTick(currentTick);
+                growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
+
+                int i = MathHelper.floor(maxBB.minX / 16.0D);
+                int j = MathHelper.floor(maxBB.maxX / 16.0D);
+                int k = MathHelper.floor(maxBB.minZ / 16.0D);
+                int l = MathHelper.floor(maxBB.maxZ / 16.0D);
+
+                for (int i1 = i; i1 <= j; ++i1) {
+                    for (int j1 = k; j1 <= l; ++j1) {
+                        List<EntityPlayer> players = playersByChunk.get(ChunkPos.asLong(i1, j1));
+                        if (players == null) {
+                            players = new ArrayList<>(4);
+                            playersByChunk.put(ChunkPos.asLong(i1, j1), players);
+                        }
+                        players.add(player);
                     }
                 }
             }
+
+            final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider();
+            if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParallelEntityActivation()) {
+                activateEntitiesParallel(chunkProvider, playersByChunk, currentTick);
+                return;
+            }
+            for (Long2ObjectMap.Entry<List<EntityPlayer>> entry : playersByChunk.long2ObjectEntrySet()) {
+                final long key = entry.getLongKey();
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) key, (int) (key >> 32));
+                if (chunk != null) {
+                    activateChunkEntities(entry.getValue(), chunk, currentTick, activationBB, null);
+                }
+            }
+        } finally {
+            timing.stopTiming();
+        }
+    }
+
+    /**
+     * Activates the entities of the chunks in range of players on the
+     * {@link #ACTIVATION_POOL}, with a task per region of 32x32 chunks. The
+     * tasks only read the positions of entities and players and write the
+     * activated tick of the entities in their region, the main thread waits
+     * for all of them before the entities are ticked.
+     *
+     * @param chunkProvider The chunk provider of the world
+     * @param playersByChunk The players in range of each chunk
+     * @param currentTick The current tick
+     */
+    private static void activateEntitiesParallel(IMixinChunkProviderServer chunkProvider, Long2ObjectMap<List<EntityPlayer>> playersByChunk,
+            long currentTick) {
+        final Long2ObjectMap<List<Tuple<Chunk, List<EntityPlayer>>>> chunksByRegion = new Long2ObjectOpenHashMap<>();
+        for (Long2ObjectMap.Entry<List<EntityPlayer>> entry : playersByChunk.long2ObjectEntrySet()) {
+            final long key = entry.getLongKey();
+            final int x = (int) key;
+            final int z = (int) (key >> 32);
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(x, z);
+            if (chunk == null) {
+                continue;
+            }
+            final long regionKey = ChunkPos.asLong(x >> 5, z >> 5);
+            List<Tuple<Chunk, List<EntityPlayer>>> chunks = chunksByRegion.get(regionKey);
+            if (chunks == null) {
+                chunks = new ArrayList<>();
+                chunksByRegion.put(regionKey, chunks);
+            }
+            chunks.add(new Tuple<>(chunk, entry.getValue()));
+        }
+
+        final List<ForkJoinTask<List<Tuple<Entity, List<EntityPlayer>>>>> tasks = new ArrayList<>(chunksByRegion.size());
+        for (List<Tuple<Chunk, List<EntityPlayer>>> chunks : chunksByRegion.values()) {
+            tasks.add(ACTIVATION_POOL.submit(() -> {
+                final AxisAlignedBB box = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+                final List<Tuple<Entity, List<EntityPlayer>>> deferred = new ArrayList<>();
+                for (Tuple<Chunk, List<EntityPlayer>> chunk : chunks) {
+                    activateChunkEntities(chunk.getSecond(), chunk.getFirst(), currentTick, box, deferred);
+                }
+                return deferred;
+            }));
+        }
+        // Refreshing the activation cache of an entity can write to the config,
+        // so those entities are activated on the main thread
+        for (ForkJoinTask<List<Tuple<Entity, List<EntityPlayer>>>> task : tasks) {
+            for (Tuple<Entity, List<EntityPlayer>> entity : task.join()) {
+                final IModData_Activation spongeEntity = (IModData_Activation) entity.getFirst();
+                EntityActivationRange.initializeEntityActivationState(entity.getFirst());
+                spongeEntity.requiresActivationCacheRefresh(false);
+                activateEntity(entity.getSecond(), entity.getFirst(), currentTick, activationBB);
+            }
         }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param players The players in range of the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
+     * @param box The box to use for range checks
+     * @param deferred If not null, entities which require an activation cache
+     *     refresh are added to this list instead of being checked
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(List<EntityPlayer> players, Chunk chunk, long currentTick, AxisAlignedBB box,
+            @Nullable List<Tuple<Entity, List<EntityPlayer>>> deferred) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
                 EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
-                long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (type == EntityTypes.UNKNOWN) {
                     ((IModData_Activation) entity).setActivatedTick(currentTick);
                     continue;
@@ -278,57 +378,31 @@ private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
                     IModData_Activation spongeEntity = (IModData_Activation) entity;
                     // check if activation cache needs to be updated
                     if (spongeEntity.requiresActivationCacheRefresh()) {
+                        if (deferred != null) {
+                            deferred.add(new Tuple<>(entity, players));
+                            continue;
+                        }
                         EntityActivationRange.initializeEntityActivationState(entity);
                         spongeEntity.requiresActivationCacheRefresh(false);
                     }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                    }
+                    activateEntity(players, entity, currentTick, box);
                 }
             }
         }
     }
 
+    private static void activateEntity(List<EntityPlayer> players, Entity entity, long currentTick, AxisAlignedBB box) {
+        // the range already accounts for entity type overrides
+        final int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
+        for (EntityPlayer player : players) {
+            growBb(box, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+            if (box.intersects(entity.getEntityBoundingBox())) {
+                ((IModData_Activation) entity).setActivatedTick(currentTick);
+                return;
+            }
+        }
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -33,6 +33,7 @@
 import org.spongepowered.api.world.schematic.BlockPaletteType;
 import org.spongepowered.api.world.schematic.BlockPaletteTypes;
 import org.spongepowered.common.registry.SpongeAdditionalCatalogRegistryModule;
+import org.spongepowered.common.world.schematic.ArrayPalette;
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 import org.spongepowered.common.world.schematic.SpongePaletteType;
@@ -68,6 +69,7 @@ public Collection<BlockPaletteType> getAll() {
     public void registerDefaults() {
         registerAdditionalCatalog(new SpongePaletteType("global", () -> GlobalPalette.instance));
         registerAdditionalCatalog(new SpongePaletteType("local", BimapPalette::new));
+        registerAdditionalCatalog(ArrayPalette.TYPE);
     }
 
     @Override
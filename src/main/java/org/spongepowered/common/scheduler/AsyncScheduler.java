@@ -24,31 +24,49 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
-    // Locking mechanism
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The pending tasks, ordered by the time they become due. The scheduler
+    // thread only wakes up when the head of the queue is due or replaced.
+    private final DelayQueue<DelayedTask> queue = new DelayQueue<>();
+    private final AtomicLong queueSequence = new AtomicLong();
+    // The pool of threads which run the asynchronous tasks, only bounded if
+    // configured to be.
+    private final ThreadPoolExecutor executor;
+    private final Map<PluginContainer, PluginTaskStatistics> statistics = new ConcurrentHashMap<>();
+    // The time the task which is currently being started became due
+    private long currentDue;
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
 
+        final int threads = SpongeImpl.getGlobalConfig().getConfig().getScheduler().getAsyncWorkerThreads();
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Sponge Async Scheduler Worker #%d").build();
+        if (threads > 0) {
+            this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            this.executor.allowCoreThreadTimeOut(true);
+        } else {
+            // Grows like a cached thread pool, tasks never wait for a worker
+            this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        }
+
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
         thread.setDaemon(true);
@@ -60,87 +78,103 @@ ExecutorService getExecutor() {
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
-        }
-    }
-
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
+            final DelayedTask delayed;
+            try {
+                delayed = this.queue.take();
+            } catch (InterruptedException ignored) {
+                continue;
+            }
+            final ScheduledTask task = delayed.task;
+            try {
+                if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                    this.removeTask(task);
+                    continue;
                 }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
+                // The previous execution is still waiting for a worker, it
+                // will queue the next one once it has started
+                if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+                    continue;
                 }
-                if (this.minimumTimeout <= 0) {
-                    break;
+                task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+                task.setTimestamp(this.getTimestamp(task));
+                this.currentDue = delayed.due;
+                this.startTask(task);
+                // If task is one time shot, remove it from the map
+                if (task.period == 0L) {
+                    this.removeTask(task);
                 }
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("The async scheduler failed to process the task {}", task, t);
             }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
         }
     }
 
-    @Override
-    protected void preTick() {
-        this.lock.lock();
-        try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
-        } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
-            // Continue on without handling the Exception.
-        } catch (IllegalMonitorStateException e) {
-            SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
-        }
+    private void enqueue(ScheduledTask task, long due) {
+        this.queue.put(new DelayedTask(task, due, this.queueSequence.getAndIncrement()));
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        // Only called from the scheduler thread, while processing the task
+        // which was due at currentDue
+        final long due = this.currentDue;
+        final PluginTaskStatistics stats = this.getStatistics(task.getOwner());
+        stats.onQueued();
+        this.executor.execute(() -> {
+            stats.onStarted(Math.max(0L, System.nanoTime() - due));
+            // Repeating tasks are only queued again once they have actually
+            // started, so runs can't pile up while the pool is saturated
+            if (task.period > 0L && task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                this.enqueue(task, task.getTimestamp() + task.period);
+            }
+            runnable.run();
+        });
     }
 
     @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    protected void addTask(ScheduledTask task) {
+        super.addTask(task);
+        this.enqueue(task, task.getTimestamp() + task.offset);
     }
 
-    @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+    /**
+     * Gets the statistics of the asynchronous tasks of the given plugin.
+     *
+     * @param plugin The plugin
+     * @return The statistics
+     */
+    PluginTaskStatistics getStatistics(PluginContainer plugin) {
+        return this.statistics.computeIfAbsent(plugin, key -> new PluginTaskStatistics());
     }
 
-    @Override
-    protected void addTask(ScheduledTask task) {
-        this.lock.lock();
-        try {
-            super.addTask(task);
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
+    Map<PluginContainer, PluginTaskStatistics> getStatistics() {
+        return ImmutableMap.copyOf(this.statistics);
+    }
+
+    private static final class DelayedTask implements Delayed {
+
+        final ScheduledTask task;
+        final long due;
+        private final long sequence;
+
+        DelayedTask(ScheduledTask task, long due, long sequence) {
+            this.task = task;
+            this.due = due;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.due - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            final DelayedTask that = (DelayedTask) other;
+            final int result = Long.compare(this.due - that.due, 0);
+            return result != 0 ? result : Long.compare(this.sequence, that.sequence);
         }
     }
 
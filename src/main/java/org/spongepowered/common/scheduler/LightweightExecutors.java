@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executor which backs the lightweight async executors of
+ * plugins, which is a virtual thread per task executor if the JVM supports
+ * them, otherwise a bounded pool of threads that shrinks when idle.
+ */
+final class LightweightExecutors {
+
+    static ExecutorService create(int fallbackThreads) {
+        try {
+            // Java 21+, looked up reflectively to keep running on older JVMs
+            final ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            SpongeImpl.getLogger().info("Lightweight async executors are backed by virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException | LinkageError ignored) {
+        }
+
+        final int threads = Math.max(1, fallbackThreads);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge Lightweight Executor #%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        SpongeImpl.getLogger().info("Virtual threads are not supported, lightweight async executors are backed by up to {} threads.", threads);
+        return executor;
+    }
+
+    private LightweightExecutors() {
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the asynchronous tasks of a single plugin, including the
+ * tasks submitted to its lightweight async executors.
+ */
+public final class PluginTaskStatistics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong skipped = new AtomicLong();
+
+    void onQueued() {
+        this.queueDepth.incrementAndGet();
+    }
+
+    void onStarted(long latency) {
+        this.queueDepth.decrementAndGet();
+        this.executed.incrementAndGet();
+        this.totalLatency.addAndGet(latency);
+        long max;
+        do {
+            max = this.maxLatency.get();
+        } while (latency > max && !this.maxLatency.compareAndSet(max, latency));
+    }
+
+    void onSubmitted() {
+        this.inFlight.incrementAndGet();
+    }
+
+    void onCompleted() {
+        this.inFlight.decrementAndGet();
+    }
+
+    void onSkipped() {
+        this.skipped.incrementAndGet();
+    }
+
+    /**
+     * Gets the amount of tasks which were submitted to a lightweight async
+     * executor of the plugin and haven't completed yet.
+     *
+     * @return The in-flight count
+     */
+    public int getInFlightCount() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Gets the amount of runs of repeating executor tasks which were skipped,
+     * because the previous run was still in flight.
+     *
+     * @return The skipped count
+     */
+    public long getSkippedCount() {
+        return this.skipped.get();
+    }
+
+    /**
+     * Gets the amount of tasks which are due, but are waiting for a worker
+     * thread to become available.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    public long getExecutedCount() {
+        return this.executed.get();
+    }
+
+    /**
+     * Gets the average time between a task becoming due and it being
+     * started by a worker thread.
+     *
+     * @param unit The time unit
+     * @return The average latency
+     */
+    public long getAverageLatency(TimeUnit unit) {
+        final long executed = this.executed.get();
+        return executed == 0 ? 0 : unit.convert(this.totalLatency.get() / executed, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(this.maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -105,7 +105,9 @@ protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            for (ScheduledTask task : this.getTasksToProcess()) {
+                this.processTask(task);
+            }
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -113,6 +115,16 @@ protected final void runTick() {
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
     }
 
+    /**
+     * Gets the tasks to process during the current tick, in the order they
+     * should be processed.
+     *
+     * @return The tasks to process
+     */
+    protected Iterable<ScheduledTask> getTasksToProcess() {
+        return this.taskMap.values();
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -39,17 +39,23 @@
 import org.spongepowered.common.SpongeImpl;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 @Singleton
 public class SpongeScheduler implements Scheduler {
 
@@ -58,6 +64,7 @@ public class SpongeScheduler implements Scheduler {
     private final AsyncScheduler asyncScheduler = new AsyncScheduler();
     private final SyncScheduler syncScheduler = new SyncScheduler();
     private final PluginManager pluginManager;
+    @Nullable private volatile ExecutorService lightweightExecutor;
 
     @Inject
     private SpongeScheduler(PluginManager pluginManager) {
@@ -139,7 +146,44 @@ public SpongeExecutorService createSyncExecutor(Object plugin) {
 
     @Override
     public SpongeExecutorService createAsyncExecutor(Object plugin) {
-        return new TaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, checkPluginInstance(plugin));
+        final PluginContainer container = checkPluginInstance(plugin);
+        if (SpongeImpl.getGlobalConfig().getConfig().getScheduler().useLightweightAsyncExecutors()) {
+            return new TaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, container,
+                    createLightweightRunner(container));
+        }
+        return new TaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, container);
+    }
+
+    private Executor createLightweightRunner(PluginContainer plugin) {
+        ExecutorService executor = this.lightweightExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.lightweightExecutor;
+                if (executor == null) {
+                    this.lightweightExecutor = executor = LightweightExecutors.create(
+                            SpongeImpl.getGlobalConfig().getConfig().getScheduler().getLightweightFallbackThreads());
+                }
+            }
+        }
+        final ExecutorService backend = executor;
+        final PluginTaskStatistics stats = this.asyncScheduler.getStatistics(plugin);
+        return command -> {
+            stats.onSubmitted();
+            try {
+                backend.execute(() -> {
+                    try {
+                        command.run();
+                    } catch (Throwable t) {
+                        SpongeImpl.getLogger().error("An async executor task owned by {} failed.", plugin, t);
+                    } finally {
+                        stats.onCompleted();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                stats.onCompleted();
+                throw e;
+            }
+        };
     }
 
     /**
@@ -185,6 +229,16 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the queue depth, latency and in-flight statistics of the
+     * asynchronous tasks of every plugin which submitted any.
+     *
+     * @return The statistics by plugin
+     */
+    public Map<PluginContainer, PluginTaskStatistics> getAsyncTaskStatistics() {
+        return this.asyncScheduler.getStatistics();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
@@ -24,14 +24,35 @@
  */
 package org.spongepowered.common.scheduler;
 
+import co.aikar.timings.SpongeTimings;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
 
+    // The time each plugin may spend running tasks per tick, 0 if unlimited
+    private long tickBudget;
+    // The time each plugin spent running tasks during the current tick
+    private final Map<PluginContainer, long[]> tickTimes = new HashMap<>();
+    // The tasks which were deferred because their plugin exceeded its budget,
+    // these are processed first during the next tick
+    private Set<ScheduledTask> deferredTasks = new LinkedHashSet<>();
+
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
     }
@@ -44,6 +65,60 @@ void tick() {
         this.runTick();
     }
 
+    @Override
+    protected void preTick() {
+        this.tickBudget = (long) (SpongeImpl.getGlobalConfig().getConfig().getScheduler().getPluginTickBudget()
+                * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    protected Iterable<ScheduledTask> getTasksToProcess() {
+        final Iterable<ScheduledTask> tasks = super.getTasksToProcess();
+        if (this.deferredTasks.isEmpty()) {
+            return tasks;
+        }
+        // Process the deferred tasks first, so the same tasks of a plugin
+        // can't be deferred over and over again
+        final Set<ScheduledTask> deferred = this.deferredTasks;
+        this.deferredTasks = new LinkedHashSet<>();
+        final List<ScheduledTask> ordered = new ArrayList<>(deferred);
+        final Set<ScheduledTask> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(deferred);
+        for (ScheduledTask task : tasks) {
+            if (seen.add(task)) {
+                ordered.add(task);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    protected void processTask(ScheduledTask task) {
+        if (this.tickBudget > 0 && task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+            final long[] tickTime = this.tickTimes.get(task.getOwner());
+            if (tickTime != null && tickTime[0] >= this.tickBudget) {
+                // The task stays due, defer it to the next tick
+                this.deferredTasks.add(task);
+                return;
+            }
+        }
+        super.processTask(task);
+    }
+
+    @Override
+    protected void finallyPostTick() {
+        if (this.tickTimes.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<PluginContainer, long[]> entry : this.tickTimes.entrySet()) {
+            final long overrun = entry.getValue()[0] - this.tickBudget;
+            if (overrun > 0) {
+                SpongeTimings.recordPluginSchedulerOverrun(entry.getKey(), overrun);
+            }
+        }
+        this.tickTimes.clear();
+    }
+
     @Override
     protected long getTimestamp(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
@@ -64,10 +139,15 @@ protected long getTimestamp(ScheduledTask task) {
 
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        final long start = this.tickBudget > 0 ? System.nanoTime() : 0L;
         try (BasicPluginContext context = PluginPhase.State.SCHEDULED_TASK.createPhaseContext()
                 .source(task)
                 .buildAndSwitch()) {
             runnable.run();
+        } finally {
+            if (this.tickBudget > 0) {
+                this.tickTimes.computeIfAbsent(task.getOwner(), plugin -> new long[1])[0] += System.nanoTime() - start;
+            }
         }
     }
 
@@ -35,6 +35,7 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -47,11 +48,20 @@ class TaskExecutorService extends AbstractExecutorService implements SpongeExecu
     private final Supplier<Task.Builder> taskBuilderProvider;
     private final SchedulerBase scheduler;
     private final PluginContainer plugin;
+    // If present, the tasks are run on this executor instead of on the
+    // thread of the scheduler, which is then only used for delays
+    @Nullable private final Executor runner;
 
     protected TaskExecutorService(Supplier<Task.Builder> taskBuilderProvider, SchedulerBase scheduler, PluginContainer plugin) {
+        this(taskBuilderProvider, scheduler, plugin, null);
+    }
+
+    protected TaskExecutorService(Supplier<Task.Builder> taskBuilderProvider, SchedulerBase scheduler, PluginContainer plugin,
+            @Nullable Executor runner) {
         this.taskBuilderProvider = taskBuilderProvider;
         this.scheduler = scheduler;
         this.plugin = plugin;
+        this.runner = runner;
     }
 
     @Override
@@ -88,6 +98,10 @@ public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedE
 
     @Override
     public void execute(Runnable command) {
+        if (this.runner != null) {
+            this.runner.execute(command);
+            return;
+        }
         this.createTask(command).submit(this.plugin);
     }
 
@@ -113,9 +127,19 @@ public <V> SpongeFuture<V> schedule(Callable<V> callable, long delay, TimeUnit u
         return new SpongeTaskFuture<>(runnable, (ScheduledTask) task, this.scheduler);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A run which becomes due while the previous run is still in flight
+     * is skipped rather than started late, the same as for repeating tasks
+     * on the scheduler itself. Skipped runs of asynchronous tasks are counted
+     * in the {@link PluginTaskStatistics} of the plugin.</p>
+     */
     @Override
     public SpongeFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
-        final RepeatableFutureTask<?> runnable = new RepeatableFutureTask<>(command);
+        @Nullable final PluginTaskStatistics stats =
+                this.scheduler instanceof AsyncScheduler ? ((AsyncScheduler) this.scheduler).getStatistics(this.plugin) : null;
+        final RepeatableFutureTask<?> runnable = new RepeatableFutureTask<>(command, stats);
 
         final Task task = this.createTask(runnable)
                 .delay(initialDelay, unit)
@@ -135,6 +159,15 @@ public SpongeFuture<?> scheduleWithFixedDelay(Runnable command, long initialDela
     }
 
     private Task.Builder createTask(Runnable command) {
+        if (this.runner != null) {
+            final Executor runner = this.runner;
+            return this.taskBuilderProvider.get().execute(task -> runner.execute(() -> {
+                // The task may be cancelled while the run waits for a thread
+                if (((ScheduledTask) task).getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                    command.run();
+                }
+            }));
+        }
         return this.taskBuilderProvider.get().execute(command);
     }
 
@@ -200,6 +233,7 @@ public void run() {
         @Override
         public boolean cancel(boolean mayInterruptIfRunning) {
             this.task.cancel(); //Ensure Sponge is not going to try to run a cancelled task.
+            // Interrupts a run which is in flight, also on a lightweight runner
             return this.runnable.cancel(mayInterruptIfRunning);
         }
 
@@ -233,9 +267,11 @@ public V get(long timeout, TimeUnit unit) throws InterruptedException, Execution
     private static class RepeatableFutureTask<V> extends FutureTask<V> {
 
         @Nullable private Task owningTask = null;
+        @Nullable private final PluginTaskStatistics statistics;
 
-        protected RepeatableFutureTask(Runnable runnable) {
+        protected RepeatableFutureTask(Runnable runnable, @Nullable PluginTaskStatistics statistics) {
             super(runnable, null);
+            this.statistics = statistics;
         }
 
         protected void setTask(Task task) {
@@ -260,7 +296,10 @@ protected void done() {
 
         @Override
         public void run() {
-            super.runAndReset();
+            // Not done, but not run either, means the previous run is still in flight
+            if (!super.runAndReset() && !isDone() && this.statistics != null) {
+                this.statistics.onSkipped();
+            }
         }
     }
 }
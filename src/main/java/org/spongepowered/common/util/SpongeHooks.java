@@ -171,6 +171,10 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
         }
     }
 
+    public static boolean isBlockActionLogged(World world, @Nullable BlockChange type) {
+        return !world.isRemote && type != null && type.allowsLogging(getActiveConfig((WorldServer) world).getConfig().getLogging());
+    }
+
     public static void logBlockAction(World world, @Nullable BlockChange type, Transaction<BlockSnapshot> transaction) {
         if (world.isRemote) {
             return;
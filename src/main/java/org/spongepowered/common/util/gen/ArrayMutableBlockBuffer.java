@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.util.gen;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.util.math.MathHelper;
 import org.spongepowered.api.block.BlockState;
@@ -39,9 +41,13 @@
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
-import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.common.world.schematic.ArrayPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
 public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
 
     /**
@@ -59,7 +65,7 @@ public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements Muta
 
     public ArrayMutableBlockBuffer(Vector3i start, Vector3i size) {
         this(size.getX() * size.getY() * size.getZ() > SMALL_AREA_THRESHOLD ?
-                new BimapPalette() : GlobalPalette.instance, start, size);
+                new ArrayPalette() : GlobalPalette.instance, start, size);
     }
 
     public ArrayMutableBlockBuffer(BlockPalette palette, Vector3i start, Vector3i size) {
@@ -98,11 +104,125 @@ public ArrayMutableBlockBuffer(BlockPalette palette, Vector3i start, Vector3i si
         this.data = blocks;
     }
 
+    /**
+     * Creates a buffer from an array of global palette ids laid out in the
+     * same order as this buffer. Larger areas are remapped to a local
+     * palette, which is built in a single pass over the distinct ids.
+     *
+     * @param start The start block position
+     * @param size The block size
+     * @param blocks The global palette ids, not cloned
+     * @return The new buffer
+     */
+    public static ArrayMutableBlockBuffer fromGlobalIds(Vector3i start, Vector3i size, char[] blocks) {
+        if (blocks.length <= SMALL_AREA_THRESHOLD) {
+            return new ArrayMutableBlockBuffer(GlobalPalette.instance, start, size, blocks);
+        }
+        final ArrayPalette palette = new ArrayPalette();
+        palette.getOrAssign(AIR);
+        final int[] remap = new int[GlobalPalette.instance.getHighestId() + 1];
+        Arrays.fill(remap, -1);
+        for (char id : blocks) {
+            if (remap[id] == -1) {
+                remap[id] = palette.getOrAssign(GlobalPalette.instance.get(id).orElse(AIR));
+            }
+        }
+        final BackingData data = new PackedBackingData(blocks.length, palette.getHighestId());
+        for (int i = 0; i < blocks.length; i++) {
+            data.set(i, remap[blocks[i]]);
+        }
+        return new ArrayMutableBlockBuffer(palette, data, start, size);
+    }
+
     @Override
     public BlockPalette getPalette() {
         return this.palette;
     }
 
+    /**
+     * Copies the global palette ids of a region of this buffer into the
+     * destination, in x, z, y order. The palette is resolved once per
+     * distinct id rather than once per block.
+     *
+     * @param min The lowest position of the region
+     * @param max The highest position of the region
+     * @param dest The destination array, sized to the region
+     */
+    public void copyGlobalIds(Vector3i min, Vector3i max, char[] dest) {
+        checkRange(min.getX(), min.getY(), min.getZ());
+        checkRange(max.getX(), max.getY(), max.getZ());
+        final int[] remap = createGlobalRemap();
+        int i = 0;
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                int index = getIndex(x, min.getY(), z);
+                for (int y = min.getY(); y <= max.getY(); y++) {
+                    final int id = this.data.get(index++);
+                    dest[i++] = (char) (remap == null ? id : remap[id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes every block of this buffer to the consumer in storage order,
+     * resolving each palette id to its state only once.
+     *
+     * @param consumer The consumer
+     */
+    public void forEachBlock(BlockConsumer consumer) {
+        final BlockState[] states = new BlockState[this.palette.getHighestId() + 1];
+        final int maxX = this.start.getX() + this.size.getX();
+        final int maxY = this.start.getY() + this.size.getY();
+        final int maxZ = this.start.getZ() + this.size.getZ();
+        int index = 0;
+        for (int x = this.start.getX(); x < maxX; x++) {
+            for (int z = this.start.getZ(); z < maxZ; z++) {
+                for (int y = this.start.getY(); y < maxY; y++) {
+                    final int id = this.data.get(index++);
+                    BlockState state = states[id];
+                    if (state == null) {
+                        state = states[id] = this.palette.get(id).orElse(AIR);
+                    }
+                    consumer.accept(x, y, z, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the palette ids of the first count blocks of a layer of this
+     * buffer without resolving them to states. The ids are given in z, x
+     * order and must already be assigned in the palette of this buffer.
+     *
+     * @param y The y coordinate of the layer
+     * @param ids The palette ids
+     * @param count The amount of blocks to set
+     */
+    public void setLayerIds(int y, int[] ids, int count) {
+        checkRange(this.start.getX(), y, this.start.getZ());
+        checkArgument(count <= this.size.getX() * this.size.getZ(), "More ids than blocks in the layer");
+        final int max = this.data.getMax();
+        for (int index = 0; index < count; index++) {
+            final int id = ids[index];
+            checkArgument(id >= 0 && id <= max, "Palette id %s is not in the palette", id);
+            this.data.set(getIndex(this.start.getX() + index % this.size.getX(), y, this.start.getZ() + index / this.size.getX()), id);
+        }
+    }
+
+    @Nullable
+    private int[] createGlobalRemap() {
+        if (this.palette == GlobalPalette.instance) {
+            return null;
+        }
+        final int airId = GlobalPalette.instance.getOrAssign(AIR);
+        final int[] remap = new int[this.palette.getHighestId() + 1];
+        for (int id = 0; id < remap.length; id++) {
+            remap[id] = this.palette.get(id).map(GlobalPalette.instance::getOrAssign).orElse(airId);
+        }
+        return remap;
+    }
+
     @Override
     public boolean setBlock(int x, int y, int z, BlockState block) {
         checkRange(x, y, z);
@@ -184,6 +304,15 @@ private int area() {
         return this.size.getX() * this.size.getY() * this.size.getZ();
     }
 
+    /**
+     * Receives the blocks visited by {@link #forEachBlock(BlockConsumer)}.
+     */
+    @FunctionalInterface
+    public interface BlockConsumer {
+
+        void accept(int x, int y, int z, BlockState block);
+    }
+
     /**
      * Basically a fixed length list of non negative numbers/ids.
      */
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+/**
+ * A queue of the positions in a chunk that are waiting for a light update of
+ * a single light type. The positions are packed into shorts, 4 bits for the
+ * x coordinate, 8 bits for the y coordinate and 4 bits for the z coordinate.
+ *
+ * <p>Positions are stored in a growable ring buffer of primitive shorts, and
+ * tracked by an open addressing hash set so a position which is already
+ * queued isn't queued again. Positions which are processed immediately can
+ * be marked in the set without being queued. The queue is filled by the main
+ * thread and drained by the lighting threads, so all the methods are
+ * synchronized.</p>
+ */
+public final class LightingUpdateQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Buffers above this capacity are released once the queue is empty again
+    private static final int RETAINED_CAPACITY = 1024;
+
+    // The queued positions, in the order they were queued
+    private short[] ring;
+    private int head;
+    private int size;
+
+    // The queued and marked positions, stored as position + 1 so 0 is an empty slot
+    private int[] set;
+    private int setSize;
+
+    private static int hash(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int toKey(short pos) {
+        return (pos & 0xFFFF) + 1;
+    }
+
+    private void allocate() {
+        if (this.ring == null) {
+            this.ring = new short[INITIAL_CAPACITY];
+            this.set = new int[INITIAL_CAPACITY * 2];
+        }
+    }
+
+    /**
+     * Queues the position, if it isn't already queued or marked.
+     *
+     * @param pos The packed position
+     * @return True if the position was queued
+     */
+    public synchronized boolean offer(short pos) {
+        allocate();
+        if (!addKey(toKey(pos))) {
+            return false;
+        }
+        if (this.size == this.ring.length) {
+            final short[] ring = new short[this.ring.length << 1];
+            final int tail = this.ring.length - this.head;
+            System.arraycopy(this.ring, this.head, ring, 0, tail);
+            System.arraycopy(this.ring, 0, ring, tail, this.head);
+            this.ring = ring;
+            this.head = 0;
+        }
+        this.ring[(this.head + this.size) & (this.ring.length - 1)] = pos;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Marks the position as being updated without queueing it, if it isn't
+     * already queued or marked.
+     *
+     * @param pos The packed position
+     * @return True if the position was marked
+     */
+    public synchronized boolean mark(short pos) {
+        allocate();
+        return addKey(toKey(pos));
+    }
+
+    /**
+     * Removes the mark of a position which was marked by {@link #mark(short)}.
+     *
+     * @param pos The packed position
+     */
+    public synchronized void unmark(short pos) {
+        if (this.set != null) {
+            removeKey(toKey(pos));
+            releaseIfEmpty();
+        }
+    }
+
+    public synchronized boolean contains(short pos) {
+        if (this.set == null) {
+            return false;
+        }
+        final int key = toKey(pos);
+        final int mask = this.set.length - 1;
+        for (int index = hash(key) & mask; this.set[index] != 0; index = (index + 1) & mask) {
+            if (this.set[index] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes queued positions in the order they were queued, and adds them
+     * to the buffer. Once removed, a position can be queued again.
+     *
+     * @param buffer The buffer to fill
+     * @return The amount of positions added to the buffer
+     */
+    public synchronized int drainTo(short[] buffer) {
+        final int count = Math.min(buffer.length, this.size);
+        if (count == 0) {
+            return 0;
+        }
+        final int mask = this.ring.length - 1;
+        for (int i = 0; i < count; i++) {
+            final short pos = this.ring[(this.head + i) & mask];
+            buffer[i] = pos;
+            removeKey(toKey(pos));
+        }
+        this.head = (this.head + count) & mask;
+        this.size -= count;
+        releaseIfEmpty();
+        return count;
+    }
+
+    private void releaseIfEmpty() {
+        if (this.size == 0 && this.setSize == 0) {
+            this.head = 0;
+            if (this.ring.length > RETAINED_CAPACITY) {
+                this.ring = null;
+                this.set = null;
+            }
+        }
+    }
+
+    private boolean addKey(int key) {
+        if ((this.setSize + 1) * 2 > this.set.length) {
+            final int[] old = this.set;
+            this.set = new int[old.length << 1];
+            for (int oldKey : old) {
+                if (oldKey != 0) {
+                    insert(oldKey);
+                }
+            }
+        }
+        final int mask = this.set.length - 1;
+        for (int index = hash(key) & mask; this.set[index] != 0; index = (index + 1) & mask) {
+            if (this.set[index] == key) {
+                return false;
+            }
+        }
+        insert(key);
+        this.setSize++;
+        return true;
+    }
+
+    private void insert(int key) {
+        final int mask = this.set.length - 1;
+        int index = hash(key) & mask;
+        while (this.set[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        this.set[index] = key;
+    }
+
+    private void removeKey(int key) {
+        final int mask = this.set.length - 1;
+        int index = hash(key) & mask;
+        while (this.set[index] != key) {
+            if (this.set[index] == 0) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        // Shift back the following keys of the cluster which can't be found
+        // anymore once this slot is emptied
+        int next = (index + 1) & mask;
+        while (this.set[next] != 0) {
+            final int home = hash(this.set[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                this.set[index] = this.set[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.set[index] = 0;
+        this.setSize--;
+    }
+
+}
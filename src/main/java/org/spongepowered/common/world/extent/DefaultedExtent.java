@@ -26,7 +26,6 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Maps;
-import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.block.tileentity.TileEntityArchetype;
 import org.spongepowered.api.util.DiscreteTransform3;
@@ -50,7 +49,6 @@
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
-import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 import org.spongepowered.common.world.schematic.SpongeArchetypeVolume;
 
@@ -159,18 +157,14 @@ default ArchetypeVolume createArchetypeVolume(Vector3i min, Vector3i max, Vector
         min = tmin;
         max = tmax;
         Extent volume = getExtentView(min, max);
-        BimapPalette palette = new BimapPalette();
-        volume.getBlockWorker().iterate((v, x, y, z) -> {
-            palette.getOrAssign(v.getBlock(x, y, z));
-        });
         int ox = origin.getX();
         int oy = origin.getY();
         int oz = origin.getZ();
-        final MutableBlockVolume backing = new ArrayMutableBlockBuffer(min.sub(origin), max.sub(min).add(1, 1, 1));
+        final Vector3i size = max.sub(min).add(1, 1, 1);
+        final char[] blocks = ExtentBufferUtil.copyToArray((BlockVolume) volume, min, max, size);
+        final MutableBlockVolume backing = ArrayMutableBlockBuffer.fromGlobalIds(min.sub(origin), size, blocks);
         Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
         volume.getBlockWorker().iterate((extent, x, y, z) -> {
-            BlockState state = extent.getBlock(x, y, z);
-            backing.setBlock(x - ox, y - oy, z - oz, state);
             Optional<TileEntity> tile = extent.getTileEntity(x, y, z);
             if (tile.isPresent()) {
                 tiles.put(new Vector3i(x - ox, y - oy, z - oz), tile.get().createArchetype());
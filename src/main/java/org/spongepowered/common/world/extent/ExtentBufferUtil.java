@@ -27,14 +27,26 @@
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BitArray;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.biome.VirtualBiomeType;
 import org.spongepowered.api.world.extent.BiomeVolume;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+
+import java.util.Arrays;
 
 public class ExtentBufferUtil {
 
+    private static final char AIR_ID = (char) Block.BLOCK_STATE_IDS.get(Blocks.AIR.getDefaultState());
+
     public static byte[] copyToArray(BiomeVolume volume, Vector3i min, Vector3i max, Vector3i size) {
         // Check if the volume has more biomes than can be stored in an array
         final long memory = (long) size.getX() * (long) size.getZ();
@@ -64,6 +76,24 @@ public static char[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max,
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final char[] copy = new char[(int) memory];
+        final BlockVolume source = getBlockSource(volume);
+        if (source instanceof World) {
+            final World world = (World) source;
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    copySections(world.getChunkFromChunkCoords(chunkX, chunkZ), min, max, size, copy);
+                }
+            }
+            return copy;
+        }
+        if (source instanceof Chunk) {
+            copySections((Chunk) source, min, max, size, copy);
+            return copy;
+        }
+        if (source instanceof ArrayMutableBlockBuffer) {
+            ((ArrayMutableBlockBuffer) source).copyGlobalIds(min, max, copy);
+            return copy;
+        }
         int i = 0;
         for (int x = min.getX(); x <= max.getX(); x++) {
             for (int z = min.getZ(); z <= max.getZ(); z++) {
@@ -75,4 +105,74 @@ public static char[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max,
         return copy;
     }
 
+    /**
+     * Gets the volume that actually stores the blocks of the given volume,
+     * looking through downsized views as they share its coordinates.
+     */
+    private static BlockVolume getBlockSource(BlockVolume volume) {
+        while (true) {
+            if (volume instanceof AbstractBlockViewDownsize) {
+                volume = ((AbstractBlockViewDownsize<?>) volume).volume;
+            } else if (volume instanceof ExtentViewDownsize) {
+                volume = ((ExtentViewDownsize) volume).getBackingExtent();
+            } else {
+                return volume;
+            }
+        }
+    }
+
+    /**
+     * Copies the part of the region that lies in the given chunk by reading
+     * the raw ids of each section, remapping its palette once per section
+     * rather than looking up a state for every block.
+     */
+    private static void copySections(Chunk chunk, Vector3i min, Vector3i max, Vector3i size, char[] copy) {
+        final int chunkMinX = chunk.x << 4;
+        final int chunkMinZ = chunk.z << 4;
+        final int minX = Math.max(min.getX(), chunkMinX);
+        final int maxX = Math.min(max.getX(), chunkMinX + 15);
+        final int minZ = Math.max(min.getZ(), chunkMinZ);
+        final int maxZ = Math.min(max.getZ(), chunkMinZ + 15);
+        final int yLine = size.getY();
+        final int yzSlice = yLine * size.getZ();
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        for (int sectionY = min.getY() >> 4; sectionY <= max.getY() >> 4; sectionY++) {
+            final int minY = Math.max(min.getY(), sectionY << 4);
+            final int maxY = Math.min(max.getY(), (sectionY << 4) + 15);
+            final ExtendedBlockStorage section = sections[sectionY];
+            if (section == Chunk.NULL_BLOCK_STORAGE) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        final int start = (x - min.getX()) * yzSlice + (z - min.getZ()) * yLine + (minY - min.getY());
+                        Arrays.fill(copy, start, start + maxY - minY + 1, AIR_ID);
+                    }
+                }
+                continue;
+            }
+            final IMixinBlockStateContainer container = (IMixinBlockStateContainer) section.getData();
+            final BitArray storage = container.getStorage();
+            final int[] remap = container.isRegistryBased() ? null : createRemap(container.getPalette(), container.getBits());
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    int index = (x - min.getX()) * yzSlice + (z - min.getZ()) * yLine + (minY - min.getY());
+                    int sectionIndex = (minY & 15) << 8 | (z & 15) << 4 | x & 15;
+                    for (int y = minY; y <= maxY; y++) {
+                        final int id = storage.getAt(sectionIndex);
+                        copy[index++] = (char) (remap == null ? id : remap[id]);
+                        sectionIndex += 256;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] createRemap(IBlockStatePalette palette, int bits) {
+        final int[] remap = new int[1 << bits];
+        for (int id = 0; id < remap.length; id++) {
+            final IBlockState state = palette.getBlockState(id);
+            remap[id] = state == null ? AIR_ID : Block.BLOCK_STATE_IDS.get(state);
+        }
+        return remap;
+    }
+
 }
@@ -89,6 +89,10 @@ public ExtentViewDownsize(Extent extent, Vector3i blockMin, Vector3i blockMax) {
         this.biomeSize = this.biomeMax.sub(this.biomeMin).add(Vector3i.ONE);
     }
 
+    Extent getBackingExtent() {
+        return this.extent;
+    }
+
     @Override
     public UUID getUniqueId() {
         return this.extent.getUniqueId();
@@ -0,0 +1,252 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.IPhaseState;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the callbacks of block volume workers in parallel. The volume is split
+ * along chunk section boundaries, the states of each section are computed on
+ * the fork join pool, and set by the calling thread one section at a time,
+ * while the next sections are still being computed.
+ */
+final class SectionedBlockWork {
+
+    private static final int SECTION_SIZE = 16;
+
+    @FunctionalInterface
+    interface StateFunction {
+
+        BlockState apply(int x, int y, int z);
+    }
+
+    @FunctionalInterface
+    interface StateConsumer {
+
+        void accept(int x, int y, int z, BlockState state);
+    }
+
+    @FunctionalInterface
+    interface SectionTarget {
+
+        /**
+         * Resolves where the states of a section are set, once per section.
+         */
+        StateConsumer resolve(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax);
+    }
+
+    @FunctionalInterface
+    interface Reducer<T> {
+
+        T reduce(int x, int y, int z, T reduction);
+    }
+
+    /**
+     * Gets whether the work of the given volume should be split, which is
+     * only the case if enabled and the volume spans more than one section.
+     */
+    static boolean isEnabled(Vector3i min, Vector3i max) {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParallelBlockWorkers()
+               && (min.getX() >> 4 != max.getX() >> 4 || min.getY() >> 4 != max.getY() >> 4 || min.getZ() >> 4 != max.getZ() >> 4);
+    }
+
+    /**
+     * Gets the target which sets the states of the sections on the given
+     * volume. The chunk of a section of a world is resolved once, instead of
+     * being looked up again for every block.
+     */
+    static SectionTarget target(MutableBlockVolume volume) {
+        if (!(volume instanceof WorldServer)) {
+            return (xMin, yMin, zMin, xMax, yMax, zMax) -> volume::setBlock;
+        }
+        final WorldServer world = (WorldServer) volume;
+        return (xMin, yMin, zMin, xMax, yMax, zMax) -> {
+            final IPhaseState<?> state = PhaseTracker.getInstance().getCurrentState();
+            // Only bypass World#setBlock where it wouldn't enter a phase of its own
+            if (!state.handlesOwnStateCompletion() && !state.isWorldGeneration()
+                    || !volume.containsBlock(xMin, yMin, zMin) || !volume.containsBlock(xMax, yMax, zMax)
+                    || world.getWorldInfo().getTerrainType() == WorldType.DEBUG_ALL_BLOCK_STATES) {
+                return volume::setBlock;
+            }
+            final Chunk chunk = world.getChunkFromChunkCoords(xMin >> 4, zMin >> 4);
+            return (x, y, z, block) -> PhaseTracker.getInstance().setBlockState((IMixinWorldServer) world, chunk, new BlockPos(x, y, z),
+                    (IBlockState) block, BlockChangeFlags.ALL);
+        };
+    }
+
+    static void apply(Vector3i min, Vector3i max, StateFunction function, SectionTarget target) {
+        final List<Section> sections = split(min, max);
+        // Only keep a few batches of states in memory at once
+        final int batchSize = Math.max(1, ForkJoinPool.commonPool().getParallelism() * 2);
+        List<CompletableFuture<BlockState[]>> batch = compute(sections, 0, batchSize, function);
+        for (int start = 0; start < sections.size(); start += batchSize) {
+            final List<CompletableFuture<BlockState[]>> next = compute(sections, start + batchSize, batchSize, function);
+            for (int i = 0; i < batch.size(); i++) {
+                sections.get(start + i).set(join(batch.get(i)), target);
+            }
+            batch = next;
+        }
+    }
+
+    /**
+     * Reduces every section from its own identity on the fork join pool,
+     * then merges the results of the sections in order on the calling
+     * thread. The identity is never merged with a section result.
+     */
+    static <T> T reduce(Vector3i min, Vector3i max, Reducer<T> reducer, BiFunction<T, T, T> merge, Supplier<T> identity) {
+        final List<T> reductions = split(min, max).parallelStream()
+                .map(section -> section.reduce(reducer, identity.get()))
+                .collect(Collectors.toList());
+        T reduction = reductions.get(0);
+        for (int i = 1; i < reductions.size(); i++) {
+            reduction = merge.apply(reduction, reductions.get(i));
+        }
+        return reduction;
+    }
+
+    private static List<CompletableFuture<BlockState[]>> compute(List<Section> sections, int start, int count, StateFunction function) {
+        if (start >= sections.size()) {
+            return Collections.emptyList();
+        }
+        final int end = Math.min(start + count, sections.size());
+        final List<CompletableFuture<BlockState[]>> futures = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            final Section section = sections.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> section.compute(function), ForkJoinPool.commonPool()));
+        }
+        return futures;
+    }
+
+    private static BlockState[] join(CompletableFuture<BlockState[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow exceptions of the callbacks as they would be without the pool
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static List<Section> split(Vector3i min, Vector3i max) {
+        final List<Section> sections = new ArrayList<>();
+        for (int z = min.getZ(); z <= max.getZ(); z = (z & ~(SECTION_SIZE - 1)) + SECTION_SIZE) {
+            final int zMax = Math.min(max.getZ(), (z | (SECTION_SIZE - 1)));
+            for (int y = min.getY(); y <= max.getY(); y = (y & ~(SECTION_SIZE - 1)) + SECTION_SIZE) {
+                final int yMax = Math.min(max.getY(), (y | (SECTION_SIZE - 1)));
+                for (int x = min.getX(); x <= max.getX(); x = (x & ~(SECTION_SIZE - 1)) + SECTION_SIZE) {
+                    final int xMax = Math.min(max.getX(), (x | (SECTION_SIZE - 1)));
+                    sections.add(new Section(x, y, z, xMax, yMax, zMax));
+                }
+            }
+        }
+        return sections;
+    }
+
+    private static final class Section {
+
+        private final int xMin;
+        private final int yMin;
+        private final int zMin;
+        private final int xMax;
+        private final int yMax;
+        private final int zMax;
+
+        Section(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.zMin = zMin;
+            this.xMax = xMax;
+            this.yMax = yMax;
+            this.zMax = zMax;
+        }
+
+        BlockState[] compute(StateFunction function) {
+            final BlockState[] states = new BlockState[(this.xMax - this.xMin + 1) * (this.yMax - this.yMin + 1) * (this.zMax - this.zMin + 1)];
+            int index = 0;
+            for (int z = this.zMin; z <= this.zMax; z++) {
+                for (int y = this.yMin; y <= this.yMax; y++) {
+                    for (int x = this.xMin; x <= this.xMax; x++) {
+                        states[index++] = function.apply(x, y, z);
+                    }
+                }
+            }
+            return states;
+        }
+
+        void set(BlockState[] states, SectionTarget target) {
+            final StateConsumer consumer = target.resolve(this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax);
+            int index = 0;
+            for (int z = this.zMin; z <= this.zMax; z++) {
+                for (int y = this.yMin; y <= this.yMax; y++) {
+                    for (int x = this.xMin; x <= this.xMax; x++) {
+                        consumer.accept(x, y, z, states[index++]);
+                    }
+                }
+            }
+        }
+
+        <T> T reduce(Reducer<T> reducer, T identity) {
+            T reduction = identity;
+            for (int z = this.zMin; z <= this.zMax; z++) {
+                for (int y = this.yMin; y <= this.yMax; y++) {
+                    for (int x = this.xMin; x <= this.xMax; x++) {
+                        reduction = reducer.reduce(x, y, z, reduction);
+                    }
+                }
+            }
+            return reduction;
+        }
+    }
+
+    private SectionedBlockWork() {
+    }
+}
@@ -27,10 +27,12 @@
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
@@ -41,13 +43,22 @@
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
 
 /**
  *
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.of(Boolean.class, Byte.class, Short.class, Character.class,
+        Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
     protected final V volume;
 
     public SpongeBlockVolumeWorker(V volume) {
@@ -76,6 +87,16 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            // Immutable volumes are safe to read from the pool
+            // The work is split along the sections of the destination, so each is only resolved once
+            final Vector3i destinationMin = unmodifiableVolume.getBlockMin().add(offset);
+            final Vector3i destinationMax = unmodifiableVolume.getBlockMax().add(offset);
+            if (this.volume instanceof ImmutableBlockVolume && SectionedBlockWork.isEnabled(destinationMin, destinationMax)) {
+                SectionedBlockWork.apply(destinationMin, destinationMax,
+                    (x, y, z) -> mapper.map(unmodifiableVolume, x - xOffset, y - yOffset, z - zOffset),
+                    SectionedBlockWork.target(destination));
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -109,6 +130,17 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            final Vector3i destinationMin = firstUnmodifiableVolume.getBlockMin().add(offsetDestination);
+            final Vector3i destinationMax = firstUnmodifiableVolume.getBlockMax().add(offsetDestination);
+            if (this.volume instanceof ImmutableBlockVolume && second instanceof ImmutableBlockVolume
+                && SectionedBlockWork.isEnabled(destinationMin, destinationMax)) {
+                SectionedBlockWork.apply(destinationMin, destinationMax,
+                    (x, y, z) -> merger.merge(firstUnmodifiableVolume, x - xOffsetDestination, y - yOffsetDestination, z - zOffsetDestination,
+                        secondUnmodifiableVolume, x - xOffsetDestination + xOffsetSecond, y - yOffsetDestination + yOffsetSecond,
+                        z - zOffsetDestination + zOffsetSecond),
+                    SectionedBlockWork.target(destination));
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -145,6 +177,14 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
 
     @Override
     public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        if (isImmutable(identity)) {
+            // Every section can start from the identity, since it can't be modified
+            return reduce(reducer, merge, () -> identity);
+        }
+        return reduceSequentially(reducer, identity);
+    }
+
+    private <T> T reduceSequentially(BlockVolumeReducer<T> reducer, T identity) {
         final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
@@ -163,6 +203,32 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Reduces the volume like {@link #reduce(BlockVolumeReducer, BiFunction, Object)},
+     * but creates a new identity for every reduction which is started. This
+     * allows the sections of an {@link ImmutableBlockVolume} to be reduced in
+     * parallel, even if the reduction is a mutable accumulator.
+     *
+     * @param reducer The reducer
+     * @param merge The function to merge two reductions
+     * @param identity The factory of the initial reduction
+     * @param <T> The type of the reduction
+     * @return The reduction of the whole volume
+     */
+    public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, Supplier<T> identity) {
+        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        if (this.volume instanceof ImmutableBlockVolume
+            && SectionedBlockWork.isEnabled(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax())) {
+            return SectionedBlockWork.reduce(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax(),
+                (x, y, z, reduction) -> reducer.reduce(unmodifiableVolume, x, y, z, reduction), merge, identity);
+        }
+        return reduceSequentially(reducer, identity.get());
+    }
+
+    private static boolean isImmutable(@Nullable Object value) {
+        return value == null || value instanceof String || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
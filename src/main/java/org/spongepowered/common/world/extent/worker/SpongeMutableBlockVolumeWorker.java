@@ -46,6 +46,12 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        // Fillers only depend on the position, so they can always run on the pool
+        if (SectionedBlockWork.isEnabled(this.volume.getBlockMin(), this.volume.getBlockMax())) {
+            SectionedBlockWork.apply(this.volume.getBlockMin(), this.volume.getBlockMax(), filler::produce,
+                SectionedBlockWork.target(this.volume));
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
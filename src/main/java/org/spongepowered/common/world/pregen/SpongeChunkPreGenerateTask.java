@@ -28,8 +28,15 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -44,11 +51,13 @@
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -61,13 +70,6 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
 
-    private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-    };
-
     private final Scheduler scheduler;
 
     private final World world;
@@ -85,11 +87,26 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
-    private Vector3i currentPosition;
-    private int currentGenCount;
-    private int currentLayer;
-    private int currentIndex;
-    private int nextJump;
+    // The chunks to generate, every chunk of a region is generated before moving on to
+    // the next, and the regions are ordered in a spiral around the center
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    private final List<Vector2i> regions;
+    private int regionIndex;
+
+    // The chunks of the current region to generate, the chunks are loaded with one extra
+    // column and row so that all chunks of the region can be populated
+    private int regionMinX;
+    private int regionMinZ;
+    private int regionMaxX;
+    private int regionMaxZ;
+    private int currentX;
+    private int currentZ;
+    // The chunks of the extra column and row which were generated before their own region,
+    // so that they are still counted as generated instead of existing once it is reached
+    private final LongSet generatedAhead = new LongOpenHashSet();
 
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
@@ -127,16 +144,18 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickTimeLimit = Math.round(preferredTickInterval * tickPercent);
         this.cause = cause;
         this.tickInterval = tickInterval;
-        final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
-        if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
-        } else {
+        final Optional<Vector3i> centerChunk = SpongeChunkLayout.instance.toChunk(center.toInt());
+        if (!centerChunk.isPresent()) {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
-        this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        this.minChunkX = centerChunk.get().getX() - this.chunkRadius;
+        this.minChunkZ = centerChunk.get().getZ() - this.chunkRadius;
+        this.maxChunkX = centerChunk.get().getX() + this.chunkRadius;
+        this.maxChunkZ = centerChunk.get().getZ() + this.chunkRadius;
+        this.regions = createRegionSpiral(this.minChunkX >> 5, this.minChunkZ >> 5, this.maxChunkX >> 5, this.maxChunkZ >> 5,
+                centerChunk.get().getX() >> 5, centerChunk.get().getZ() >> 5);
+        this.regionIndex = 0;
+        this.startRegion();
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
@@ -183,6 +202,17 @@ public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the average number of chunks generated per second since the
+     * generation started. Chunks which already existed are not counted.
+     *
+     * @return The chunks generated per second
+     */
+    public double getChunksPerSecond() {
+        final long totalMillis = getTotalTime().toMillis();
+        return totalMillis <= 0 ? 0 : this.chunksGenerated * 1000.0 / totalMillis;
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -238,28 +268,31 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
-            } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
+        while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime)) {
+            if (this.currentX == this.regionMinX && this.currentZ == this.regionMinZ && isRegionGenerated()) {
+                // Skipped the whole region, log this.
+                final int generatedAhead = this.removeGeneratedAhead();
+                count += generatedAhead;
+                skipped += (this.regionMaxX - this.regionMinX + 1) * (this.regionMaxZ - this.regionMinZ + 1) - generatedAhead;
+                this.nextRegion();
+                continue;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+            // Only the chunks of the area are counted, the extra column and row are just loaded for population
+            if (this.currentX <= this.regionMaxX && this.currentZ <= this.regionMaxZ) {
+                if (this.generatedAhead.remove(ChunkPos.asLong(this.currentX, this.currentZ))
+                        || !doesChunkExist(this.currentX, this.currentZ)) {
+                    count++;
+                } else {
+                    skipped++;
+                }
+            } else if (this.currentX <= this.maxChunkX && this.currentZ <= this.maxChunkZ
+                    && !doesChunkExist(this.currentX, this.currentZ)) {
+                this.generatedAhead.add(ChunkPos.asLong(this.currentX, this.currentZ));
+            }
+            // Chunks which already exist are loaded as well, as they may still need to be populated
+            this.world.loadChunk(this.currentX, 0, this.currentZ, true);
+            this.nextChunkPosition();
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -294,9 +327,81 @@ public void accept(Task task) {
         }
     }
 
-    private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
-        return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
-                this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
+    private static List<Vector2i> createRegionSpiral(int minX, int minZ, int maxX, int maxZ, int centerX, int centerZ) {
+        final List<Vector2i> regions = new ArrayList<>((maxX - minX + 1) * (maxZ - minZ + 1));
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                regions.add(new Vector2i(x, z));
+            }
+        }
+        // Order by the ring around the center region, and within each ring by angle
+        regions.sort(Comparator.<Vector2i>comparingInt(region -> Math.max(Math.abs(region.getX() - centerX), Math.abs(region.getY() - centerZ)))
+                .thenComparingDouble(region -> Math.atan2(region.getY() - centerZ, region.getX() - centerX)));
+        return regions;
+    }
+
+    private void startRegion() {
+        final Vector2i region = this.regions.get(this.regionIndex);
+        this.regionMinX = Math.max(region.getX() << 5, this.minChunkX);
+        this.regionMinZ = Math.max(region.getY() << 5, this.minChunkZ);
+        this.regionMaxX = Math.min((region.getX() << 5) + 31, this.maxChunkX);
+        this.regionMaxZ = Math.min((region.getY() << 5) + 31, this.maxChunkZ);
+        this.currentX = this.regionMinX;
+        this.currentZ = this.regionMinZ;
+    }
+
+    private boolean isRegionGenerated() {
+        for (int z = this.regionMinZ; z <= this.regionMaxZ + 1; z++) {
+            for (int x = this.regionMinX; x <= this.regionMaxX + 1; x++) {
+                if (!this.doesChunkExistCheck.test(new Vector3i(x, 0, z))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int removeGeneratedAhead() {
+        int removed = 0;
+        for (int z = this.regionMinZ; z <= this.regionMaxZ; z++) {
+            for (int x = this.regionMinX; x <= this.regionMaxX; x++) {
+                if (this.generatedAhead.remove(ChunkPos.asLong(x, z))) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private boolean doesChunkExist(int x, int z) {
+        // A loaded chunk may not be saved yet, so it isn't in the storage
+        return ((IMixinChunkProviderServer) ((WorldServer) this.world).getChunkProvider()).getLoadedChunkWithoutMarkingActive(x, z) != null
+                || this.doesChunkExistCheck.test(new Vector3i(x, 0, z));
+    }
+
+    private void nextRegion() {
+        this.regionIndex++;
+        if (hasNextChunkPosition()) {
+            startRegion();
+        }
+    }
+
+    /**
+     * Queues the chunks of the finished region to be unloaded, which saves
+     * them, unless they are in use by a player. This includes the extra
+     * column and row, which may lie outside of the area.
+     */
+    private void unloadRegion() {
+        final WorldServer worldServer = (WorldServer) this.world;
+        final ChunkProviderServer chunkProvider = worldServer.getChunkProvider();
+        for (int z = this.regionMinZ; z <= this.regionMaxZ + 1; z++) {
+            for (int x = this.regionMinX; x <= this.regionMaxX + 1; x++) {
+                final Chunk chunk = ((IMixinChunkProviderServer) chunkProvider).getLoadedChunkWithoutMarkingActive(x, z);
+                if (chunk != null && !worldServer.getPlayerChunkMap().contains(x, z)) {
+                    chunkProvider.queueUnload(chunk);
+                }
+            }
+        }
     }
 
     private void unregisterListener() {
@@ -317,29 +422,18 @@ private void cancelTask(Task task) {
     }
 
     private boolean hasNextChunkPosition() {
-        return this.currentLayer <= this.chunkRadius;
+        return this.regionIndex < this.regions.size();
     }
 
-    private Vector3i nextChunkPosition() {
-        final Vector3i nextPosition = this.currentPosition;
-        final int currentLayerIndex;
-        if (this.currentIndex >= this.nextJump) {
-            // Reached end of layer, jump to the next so we can keep spiralling
-            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-            this.currentLayer++;
-            // Each the jump increment increases by 4 at each new layer
-            this.nextJump += this.currentLayer * 4;
-            currentLayerIndex = 1;
-        } else {
-            // Get the current index since the last jump
-            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-            // Move to next position in layer, by following a square
-            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
+    private void nextChunkPosition() {
+        if (++this.currentX > this.regionMaxX + 1) {
+            this.currentX = this.regionMinX;
+            if (++this.currentZ > this.regionMaxZ + 1) {
+                // Every chunk of the region is generated and populated
+                this.unloadRegion();
+                this.nextRegion();
+            }
         }
-        // If we're at the corner it's 3, else 2 for an edge
-        this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-        this.currentIndex++;
-        return nextPosition;
     }
 
     private boolean checkChunkCount(int count) {
@@ -387,14 +481,21 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        final long totalMillis = Math.max(1, post.getChunkPreGenerate().getTotalTime().toMillis());
+                        final double chunksPerSecond = post.getChunkPreGenerate() instanceof SpongeChunkPreGenerateTask
+                            ? ((SpongeChunkPreGenerateTask) post.getChunkPreGenerate()).getChunksPerSecond()
+                            : post.getChunkPreGenerate().getTotalGeneratedChunks() * 1000.0 / totalMillis;
+                        logger.info("Generated {} chunks and skipped {} existing chunks in {} ({} chunks/s), {}% complete",
+                            post.getChunksGeneratedThisStep(), post.getChunksSkippedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
+                            (long) chunksPerSecond,
                             GenericMath.floor(
                                 100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
                                     / post.getChunkPreGenerate().getTargetTotalChunks())
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
-                        logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
+                        logger.info("Done! Generated a total of {} chunks and skipped {} existing chunks in {}",
+                            event.getChunkPreGenerate().getTotalGeneratedChunks(), event.getChunkPreGenerate().getTotalSkippedChunks(),
                             DurationFormatUtils.formatDuration(event.getChunkPreGenerate().getTotalTime().toMillis(), TIME_FORMAT, false));
                     }
                 });
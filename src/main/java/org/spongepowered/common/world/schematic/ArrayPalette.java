@@ -0,0 +1,149 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.BlockPaletteType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * A local palette that stores its states in an array indexed by id, with an
+ * identity map for the reverse lookup, so neither direction boxes the id.
+ */
+public class ArrayPalette implements BlockPalette {
+
+    public static final BlockPaletteType TYPE = new SpongePaletteType("array", ArrayPalette::new);
+
+    private static final int DEFAULT_ALLOCATION_SIZE = 64;
+
+    private final Reference2IntOpenHashMap<BlockState> ids;
+    private BlockState[] states;
+    private int maxId = 0;
+    private int firstFree = 0;
+
+    public ArrayPalette() {
+        this(DEFAULT_ALLOCATION_SIZE);
+    }
+
+    public ArrayPalette(int expectedSize) {
+        this.states = new BlockState[Math.max(expectedSize, 1)];
+        this.ids = new Reference2IntOpenHashMap<>(expectedSize);
+        this.ids.defaultReturnValue(-1);
+    }
+
+    @Override
+    public BlockPaletteType getType() {
+        return TYPE;
+    }
+
+    @Override
+    public int getHighestId() {
+        return this.maxId;
+    }
+
+    @Override
+    public Optional<Integer> get(BlockState state) {
+        final int id = this.ids.getInt(state);
+        return id == -1 ? Optional.empty() : Optional.of(id);
+    }
+
+    @Override
+    public int getOrAssign(BlockState state) {
+        final int id = this.ids.getInt(state);
+        if (id != -1) {
+            return id;
+        }
+        final int next = this.firstFree;
+        put(state, next);
+        return next;
+    }
+
+    @Override
+    public Optional<BlockState> get(int id) {
+        if (id < 0 || id >= this.states.length) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.states[id]);
+    }
+
+    public void assign(BlockState state, int id) {
+        final int existing = this.ids.getInt(state);
+        if (existing != -1 && existing != id) {
+            throw new IllegalArgumentException("State already has id " + existing + ": " + state);
+        }
+        if (id < this.states.length && this.states[id] != null) {
+            this.ids.removeInt(this.states[id]);
+        }
+        put(state, id);
+    }
+
+    private void put(BlockState state, int id) {
+        if (id >= this.states.length) {
+            this.states = Arrays.copyOf(this.states, Math.max(id + 1, this.states.length * 2));
+        }
+        this.states[id] = state;
+        this.ids.put(state, id);
+        if (this.maxId < id) {
+            this.maxId = id;
+        }
+        if (id == this.firstFree) {
+            while (this.firstFree < this.states.length && this.states[this.firstFree] != null) {
+                this.firstFree++;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(BlockState state) {
+        final int id = this.ids.removeInt(state);
+        if (id == -1) {
+            return false;
+        }
+        this.states[id] = null;
+        if (id < this.firstFree) {
+            this.firstFree = id;
+        }
+        if (id == this.maxId) {
+            int highest = id - 1;
+            while (highest >= 0 && this.states[highest] == null) {
+                highest--;
+            }
+            this.maxId = highest;
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<BlockState> getEntries() {
+        return Collections.unmodifiableSet(this.ids.keySet());
+    }
+
+}
@@ -40,6 +40,7 @@
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 
 import java.util.Map;
@@ -77,9 +78,17 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
 
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
-        this.backing.getBlockWorker().iterate((v, x, y, z) -> {
-            location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
-        });
+        if (this.backing instanceof ArrayMutableBlockBuffer) {
+            // Walks the backing ids directly, resolving each palette entry once
+            ((ArrayMutableBlockBuffer) this.backing).forEachBlock((x, y, z, block) -> {
+                location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), block, changeFlag);
+            });
+        } else {
+            this.backing.getBlockWorker().iterate((v, x, y, z) -> {
+                location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z),
+                        changeFlag);
+            });
+        }
         for (Vector3i pos : this.tiles.keySet()) {
             TileEntityArchetype archetype = this.tiles.get(pos);
             archetype.apply(location.add(pos));
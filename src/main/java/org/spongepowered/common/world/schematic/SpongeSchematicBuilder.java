@@ -38,7 +38,6 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.api.world.schematic.BlockPaletteType;
-import org.spongepowered.api.world.schematic.BlockPaletteTypes;
 import org.spongepowered.api.world.schematic.Schematic;
 import org.spongepowered.api.world.schematic.Schematic.Builder;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
@@ -51,7 +50,7 @@ public class SpongeSchematicBuilder implements Schematic.Builder {
     private ArchetypeVolume volume;
     private Extent view;
     private BlockPalette palette;
-    private BlockPaletteType type = BlockPaletteTypes.LOCAL;
+    private BlockPaletteType type = ArrayPalette.TYPE;
     private DataView metadata;
     private Map<String, Object> metaValues = Maps.newHashMap();
 
@@ -109,7 +108,7 @@ public Builder reset() {
         this.volume = null;
         this.view = null;
         this.palette = null;
-        this.type = BlockPaletteTypes.LOCAL;
+        this.type = ArrayPalette.TYPE;
         this.metadata = null;
         this.metaValues.clear();
         return this;
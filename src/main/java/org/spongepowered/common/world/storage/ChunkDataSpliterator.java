@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Spliterator} over the data of the chunks in a range of region
+ * files. It splits by region file first, once a single region file is left
+ * it splits the chunks of that region.
+ *
+ * <p>Chunks are read like {@link SpongeChunkDataStream} reads them, see
+ * {@link StreamedRegionFile}.</p>
+ *
+ * <p>The region files opened by a spliterator and all the spliterators split
+ * from it are tracked, so they can be closed by {@link #close()} when the
+ * stream is short-circuited before every region file was consumed.</p>
+ */
+final class ChunkDataSpliterator implements Spliterator<DataContainer> {
+
+    private final IMixinAnvilChunkLoader loader;
+    private final List<Path> regionFiles;
+    // The region files which are currently open, shared with every split
+    private final Set<StreamedRegionFile> openRegions;
+    // The region files [regionFrom, regionTo) are covered
+    private int regionFrom;
+    private final int regionTo;
+    // The first chunk index of regionFrom that wasn't consumed yet
+    private int chunkFrom;
+    // The end (exclusive) chunk index of the last region file
+    private int lastChunkTo;
+    @Nullable private StreamedRegionFile region;
+
+    ChunkDataSpliterator(IMixinAnvilChunkLoader loader, List<Path> regionFiles) {
+        this(loader, regionFiles, ConcurrentHashMap.newKeySet(), 0, regionFiles.size(), 0, MappedRegionFile.CHUNK_COUNT);
+    }
+
+    private ChunkDataSpliterator(IMixinAnvilChunkLoader loader, List<Path> regionFiles, Set<StreamedRegionFile> openRegions, int regionFrom,
+            int regionTo, int chunkFrom, int lastChunkTo) {
+        this.loader = loader;
+        this.regionFiles = regionFiles;
+        this.openRegions = openRegions;
+        this.regionFrom = regionFrom;
+        this.regionTo = regionTo;
+        this.chunkFrom = chunkFrom;
+        this.lastChunkTo = lastChunkTo;
+    }
+
+    private int chunkTo() {
+        return this.regionFrom == this.regionTo - 1 ? this.lastChunkTo : MappedRegionFile.CHUNK_COUNT;
+    }
+
+    private void closeRegion() {
+        if (this.region != null) {
+            this.openRegions.remove(this.region);
+            this.region.close();
+            this.region = null;
+        }
+    }
+
+    /**
+     * Closes every region file which is still open by this spliterator or
+     * any spliterator split from it.
+     */
+    void close() {
+        for (Iterator<StreamedRegionFile> iterator = this.openRegions.iterator(); iterator.hasNext();) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DataContainer> action) {
+        try {
+            while (this.regionFrom < this.regionTo) {
+                if (this.region == null) {
+                    this.region = StreamedRegionFile.open(this.loader, this.regionFiles.get(this.regionFrom));
+                    if (this.region != null) {
+                        this.openRegions.add(this.region);
+                    }
+                }
+                if (this.region != null) {
+                    final int chunkTo = chunkTo();
+                    while (this.chunkFrom < chunkTo) {
+                        final DataContainer data = this.region.readChunk(this.chunkFrom++);
+                        if (data != null) {
+                            action.accept(data);
+                            return true;
+                        }
+                    }
+                    closeRegion();
+                }
+                this.regionFrom++;
+                this.chunkFrom = 0;
+            }
+        } catch (IOException e) {
+            closeRegion();
+            throw new RuntimeException(e);
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<DataContainer> trySplit() {
+        final int regions = this.regionTo - this.regionFrom;
+        if (regions > 1) {
+            // Hand the first half of the region files to the new spliterator
+            final int mid = (this.regionFrom + this.regionTo) >>> 1;
+            final ChunkDataSpliterator prefix = new ChunkDataSpliterator(this.loader, this.regionFiles, this.openRegions, this.regionFrom, mid,
+                    this.chunkFrom, MappedRegionFile.CHUNK_COUNT);
+            // The already opened region file now belongs to the prefix
+            prefix.region = this.region;
+            this.region = null;
+            this.regionFrom = mid;
+            this.chunkFrom = 0;
+            return prefix;
+        }
+        if (regions == 1 && this.lastChunkTo - this.chunkFrom > 64) {
+            final int mid = (this.chunkFrom + this.lastChunkTo) >>> 1;
+            final ChunkDataSpliterator prefix = new ChunkDataSpliterator(this.loader, this.regionFiles, this.openRegions, this.regionFrom,
+                    this.regionTo, this.chunkFrom, mid);
+            prefix.region = this.region;
+            this.region = null;
+            this.chunkFrom = mid;
+            return prefix;
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        final int regions = this.regionTo - this.regionFrom;
+        if (regions <= 0) {
+            return 0;
+        }
+        if (regions == 1) {
+            return Math.max(0, this.lastChunkTo - this.chunkFrom);
+        }
+        // The rest of the first region, the full regions in between and the
+        // covered part of the last region
+        return (MappedRegionFile.CHUNK_COUNT - this.chunkFrom) + (long) (regions - 2) * MappedRegionFile.CHUNK_COUNT + this.lastChunkTo;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * The executors of asynchronous chunk loads. Chunk data is read from the
+ * region files by the {@link #reader() readers}, after which the chunk is
+ * created from it on the {@link #MAIN_THREAD main thread}.
+ */
+public final class ChunkLoadExecutors {
+
+    /**
+     * Runs tasks on the main thread, directly if already called from it.
+     */
+    public static final Executor MAIN_THREAD = task -> SpongeImpl.getServer().addScheduledTask(task);
+
+    @Nullable private static ExecutorService reader;
+
+    public static synchronized Executor reader() {
+        if (reader == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkLoadingCategory().getThreads());
+            reader = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Chunk Load Thread #%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return reader;
+    }
+
+    private ChunkLoadExecutors() {
+    }
+}
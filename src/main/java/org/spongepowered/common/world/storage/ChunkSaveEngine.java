@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+
+import java.io.IOException;
+
+/**
+ * Writes the chunks queued for saving by an
+ * {@link net.minecraft.world.chunk.storage.AnvilChunkLoader} to storage,
+ * replacing the single {@link net.minecraft.world.storage.ThreadedFileIOBase}
+ * thread.
+ */
+public interface ChunkSaveEngine {
+
+    /**
+     * Queues the chunk data to be written. If data for the same chunk is
+     * still waiting to be written, it is replaced.
+     *
+     * @param pos The chunk position
+     * @param compound The chunk data
+     */
+    void queue(ChunkPos pos, NBTTagCompound compound);
+
+    /**
+     * Blocks until all the chunk data that was queued before this call has
+     * been written.
+     */
+    void flush();
+
+    @FunctionalInterface
+    interface Writer {
+
+        void write(ChunkPos pos, NBTTagCompound compound) throws IOException;
+
+    }
+
+    @FunctionalInterface
+    interface Callback {
+
+        /**
+         * Called after the chunk data was written.
+         *
+         * @param pos The chunk position
+         * @param compound The chunk data
+         */
+        void onWritten(ChunkPos pos, NBTTagCompound compound);
+
+    }
+
+}
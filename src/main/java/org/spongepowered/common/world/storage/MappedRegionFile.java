@@ -0,0 +1,244 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read-only view of a region file which is memory mapped, chunks are
+ * decompressed straight from the mapped buffer without copying them into an
+ * intermediate byte array first.
+ *
+ * <p>The header is read from the mapping on every access, so chunks that
+ * were written after the file was opened are visible as well. If the file
+ * grew in the meantime, it is mapped again.</p>
+ *
+ * <p>Chunks are only read inside {@link #readChunk(int, ChunkReader)}, which
+ * holds the lock of this file, so the file can't be closed or mapped again
+ * while a chunk is read. There is no supported way to unmap a buffer, so
+ * replaced and closed mappings are released once they are garbage
+ * collected.</p>
+ */
+public final class MappedRegionFile implements Closeable {
+
+    static final int SECTOR_SIZE = 4096;
+    static final int CHUNK_COUNT = 1024;
+
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean closed;
+
+    public MappedRegionFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.channel.size());
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    private ByteBuffer getBuffer(long requiredSize) throws IOException {
+        if (this.closed) {
+            throw new IOException("The region file " + this.path + " is closed");
+        }
+        if (this.buffer.capacity() < requiredSize) {
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.channel.size());
+        }
+        // Every read gets its own position and limit
+        return this.buffer.duplicate();
+    }
+
+    private int getOffset(int index) throws IOException {
+        final ByteBuffer buffer = getBuffer(SECTOR_SIZE);
+        if (buffer.capacity() < SECTOR_SIZE) {
+            return 0;
+        }
+        return buffer.getInt(index * 4);
+    }
+
+    /**
+     * Gets whether the chunk at the given index, which is
+     * {@code x + z * 32} in region local chunk coordinates, is present.
+     *
+     * @param index The chunk index
+     * @return Whether the chunk is present
+     * @throws IOException If the file can't be read
+     */
+    public synchronized boolean hasChunk(int index) throws IOException {
+        return getOffset(index) != 0;
+    }
+
+    /**
+     * Reads the decompressed chunk data at the given index, which is
+     * {@code x + z * 32} in region local chunk coordinates. The stream is
+     * backed by the mapping, so it must not be used after the reader
+     * returns.
+     *
+     * @param index The chunk index
+     * @param reader The reader of the chunk data stream
+     * @param <T> The type of the read data
+     * @return The read data, or null if the chunk isn't present
+     * @throws IOException If the data is invalid or can't be read
+     */
+    @Nullable
+    public synchronized <T> T readChunk(int index, ChunkReader<T> reader) throws IOException {
+        final DataInputStream stream = getChunkDataInputStream(index);
+        return stream == null ? null : reader.read(stream);
+    }
+
+    @Nullable
+    private DataInputStream getChunkDataInputStream(int index) throws IOException {
+        final int offset = getOffset(index);
+        if (offset == 0) {
+            return null;
+        }
+        final long start = (long) (offset >> 8) * SECTOR_SIZE;
+        final int sectors = offset & 0xFF;
+        final ByteBuffer buffer = getBuffer(start + (long) sectors * SECTOR_SIZE);
+        if (start + 5 > buffer.capacity()) {
+            throw new IOException("Chunk " + index + " of " + this.path + " points outside of the file");
+        }
+        final int length = buffer.getInt((int) start);
+        if (length <= 0 || length > sectors * SECTOR_SIZE || start + 4 + length > buffer.capacity()) {
+            throw new IOException("Chunk " + index + " of " + this.path + " has an invalid length: " + length);
+        }
+        final byte version = buffer.get((int) start + 4);
+        buffer.position((int) start + 5);
+        buffer.limit((int) start + 4 + length);
+        final InputStream data = new ByteBufferInputStream(buffer.slice());
+        if (version == VERSION_GZIP) {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(data)));
+        } else if (version == VERSION_DEFLATE) {
+            return new DataInputStream(new BufferedInputStream(new InflaterInputStream(data)));
+        }
+        throw new IOException("Chunk " + index + " of " + this.path + " has an unknown version: " + version);
+    }
+
+    /**
+     * Asks the operating system to load the whole mapping into memory, used
+     * to prefetch the next region of a scan.
+     */
+    public synchronized void prefetch() {
+        if (!this.closed) {
+            this.buffer.load();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.channel.close();
+    }
+
+    /**
+     * Counts the chunks which are present in a region file, by only reading
+     * its header instead of mapping the whole file.
+     *
+     * @param path The region file path
+     * @return The amount of present chunks
+     * @throws IOException If the file can't be read
+     */
+    public static int countChunks(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1) {
+                    break;
+                }
+            }
+            header.flip();
+            int count = 0;
+            while (header.remaining() >= 4) {
+                if (header.getInt() != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Reads data from the decompressed stream of a chunk.
+     *
+     * @param <T> The type of the read data
+     */
+    @FunctionalInterface
+    public interface ChunkReader<T> {
+
+        T read(DataInputStream stream) throws IOException;
+
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ChunkSaveEngine} which writes the chunks of different region
+ * files in parallel. Every region file has its own lane, which is drained by
+ * at most one thread at a time, so the writes to a single region file stay
+ * serialized.
+ *
+ * <p>Saving a chunk again before its previous data was written replaces the
+ * pending data, so every chunk is written at most once per drain.</p>
+ *
+ * <p>Chunk data which still can't be written after retrying is never
+ * dropped. It is queued again behind the rest of its region, and the lane
+ * backs off before each further attempt, for as long as the writes keep
+ * failing. Flushing waits for these chunks as well.</p>
+ */
+public final class ParallelRegionSaveEngine implements ChunkSaveEngine {
+
+    private static final int WRITE_ATTEMPTS = 5;
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    private static final Set<ParallelRegionSaveEngine> engines = Collections.newSetFromMap(new WeakHashMap<>());
+    @Nullable private static ExecutorService executor;
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkSavingCategory().getThreads());
+            // The threads aren't daemons so queued chunks can't be lost when
+            // the server stops, instead they exit once they have been idle
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("Sponge - Chunk Save Thread #%d")
+                            .setDaemon(false)
+                            .build());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    /**
+     * Blocks until every engine has written all the chunk data queued
+     * before this call. This is called whenever the file IO thread is waited
+     * for, which happens before the region files are closed on world saves,
+     * world unloads and server stops.
+     */
+    public static void flushAll() {
+        final List<ParallelRegionSaveEngine> toFlush;
+        synchronized (engines) {
+            toFlush = new ArrayList<>(engines);
+        }
+        for (ParallelRegionSaveEngine engine : toFlush) {
+            engine.flush();
+        }
+    }
+
+    /**
+     * Gets the amount of chunks written by all the engines of loaded worlds.
+     *
+     * @return The written count
+     */
+    public static long getTotalWrittenCount() {
+        synchronized (engines) {
+            return engines.stream().mapToLong(ParallelRegionSaveEngine::getWrittenCount).sum();
+        }
+    }
+
+    /**
+     * Gets the amount of saves coalesced by all the engines of loaded
+     * worlds.
+     *
+     * @return The coalesced count
+     */
+    public static long getTotalCoalescedCount() {
+        synchronized (engines) {
+            return engines.stream().mapToLong(ParallelRegionSaveEngine::getCoalescedCount).sum();
+        }
+    }
+
+    /**
+     * Gets the amount of times all the engines of loaded worlds failed to
+     * write a chunk after retrying, and queued it again.
+     *
+     * @return The failed count
+     */
+    public static long getTotalFailedCount() {
+        synchronized (engines) {
+            return engines.stream().mapToLong(ParallelRegionSaveEngine::getFailedCount).sum();
+        }
+    }
+
+    private final String name;
+    private final Writer writer;
+    private final Callback callback;
+    private final Map<Long, RegionLane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ParallelRegionSaveEngine(String name, Writer writer, Callback callback) {
+        this.name = name;
+        this.writer = writer;
+        this.callback = callback;
+        synchronized (engines) {
+            engines.add(this);
+        }
+    }
+
+    @Override
+    public void queue(ChunkPos pos, NBTTagCompound compound) {
+        final long regionKey = ChunkPos.asLong(pos.x >> 5, pos.z >> 5);
+        while (true) {
+            final RegionLane lane = this.lanes.computeIfAbsent(regionKey, RegionLane::new);
+            synchronized (lane) {
+                if (lane.removed) {
+                    // The lane drained and was removed before it was locked
+                    continue;
+                }
+                if (lane.pending.put(pos, compound) != null) {
+                    this.coalesced.incrementAndGet();
+                }
+                if (!lane.draining) {
+                    lane.draining = true;
+                    getExecutor().execute(() -> this.drain(lane));
+                }
+                return;
+            }
+        }
+    }
+
+    private void drain(RegionLane lane) {
+        boolean interrupted = false;
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            final ChunkPos pos;
+            final NBTTagCompound compound;
+            synchronized (lane) {
+                final Iterator<Map.Entry<ChunkPos, NBTTagCompound>> iterator = lane.pending.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    lane.draining = false;
+                    lane.removed = true;
+                    this.lanes.remove(lane.key, lane);
+                    lane.notifyAll();
+                    break;
+                }
+                final Map.Entry<ChunkPos, NBTTagCompound> entry = iterator.next();
+                iterator.remove();
+                pos = entry.getKey();
+                compound = entry.getValue();
+            }
+            final Exception exception = this.write(pos, compound);
+            if (exception == null) {
+                backoff = MIN_BACKOFF_MILLIS;
+                continue;
+            }
+            this.failed.incrementAndGet();
+            synchronized (lane) {
+                // Newer data of the chunk replaces the data that failed
+                lane.pending.putIfAbsent(pos, compound);
+            }
+            SpongeImpl.getLogger().error("Failed to save chunk {} of {} after {} attempts. The chunk stays queued and will be "
+                    + "written again in {} ms, it is lost if the server is killed before then", pos, this.name, WRITE_ATTEMPTS, backoff, exception);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nullable
+    private Exception write(ChunkPos pos, NBTTagCompound compound) {
+        Exception lastException = null;
+        for (int attempt = 0; attempt < WRITE_ATTEMPTS; attempt++) {
+            try {
+                this.writer.write(pos, compound);
+                lastException = null;
+                break;
+            } catch (Exception e) {
+                lastException = e;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (lastException == null) {
+            this.written.incrementAndGet();
+            this.callback.onWritten(pos, compound);
+        }
+        return lastException;
+    }
+
+    @Override
+    public void flush() {
+        boolean interrupted = false;
+        for (RegionLane lane : this.lanes.values()) {
+            synchronized (lane) {
+                while (lane.draining) {
+                    try {
+                        lane.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the amount of chunks which were written by this engine.
+     *
+     * @return The written count
+     */
+    public long getWrittenCount() {
+        return this.written.get();
+    }
+
+    /**
+     * Gets the amount of saves which replaced pending data of the same chunk,
+     * and thus didn't require a write of their own.
+     *
+     * @return The coalesced count
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * Gets the amount of times a chunk failed to be written after retrying,
+     * and was queued again.
+     *
+     * @return The failed count
+     */
+    public long getFailedCount() {
+        return this.failed.get();
+    }
+
+    private static final class RegionLane {
+
+        final long key;
+        final Map<ChunkPos, NBTTagCompound> pending = new LinkedHashMap<>();
+        boolean draining;
+        boolean removed;
+
+        RegionLane(long key) {
+            this.key = key;
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * A least recently used cache of open {@link RegionFile}s which replaces the
+ * map of the {@link RegionFileCache}. Instead of closing every region file
+ * once the cache is full, only the region file that was used the longest
+ * time ago is closed.
+ *
+ * <p>Like the map it replaces, this cache must only be accessed while
+ * holding the lock of the {@link RegionFileCache} class.</p>
+ *
+ * <p>Region files are used outside of that lock by the threads which read
+ * and write chunks, so they are reference counted. A region file that is
+ * evicted while still in use is retired instead of closed, and is only
+ * closed once the last user releases it. Loading a retired region file
+ * again revives the same instance, so a file is never open twice.</p>
+ */
+public final class RegionFileLruCache extends LinkedHashMap<File, RegionFile> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<RegionFile, Integer> references = new IdentityHashMap<>();
+    private final Map<RegionFile, File> retired = new IdentityHashMap<>();
+
+    public RegionFileLruCache(int maxSize) {
+        super(16, 0.75f, true);
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Gets the {@link RegionFileLruCache} which is used by the
+     * {@link RegionFileCache}, if present.
+     *
+     * @return The cache, or null if the vanilla map is still used
+     */
+    @SuppressWarnings("ConstantConditions")
+    public static RegionFileLruCache getInstance() {
+        final Map<File, RegionFile> regions = RegionFileCache.REGIONS_BY_FILE;
+        return regions instanceof RegionFileLruCache ? (RegionFileLruCache) regions : null;
+    }
+
+    @Override
+    public RegionFile get(Object key) {
+        final RegionFile regionFile = super.get(key);
+        if (regionFile != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return regionFile;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<File, RegionFile> eldest) {
+        if (size() <= this.maxSize) {
+            return false;
+        }
+        retireOrClose(eldest.getKey(), eldest.getValue());
+        this.evictions.increment();
+        return true;
+    }
+
+    /**
+     * Closes every region file which isn't in use and retires the others,
+     * then clears this cache.
+     */
+    public void closeAll() {
+        synchronized (RegionFileCache.class) {
+            for (Map.Entry<File, RegionFile> entry : entrySet()) {
+                retireOrClose(entry.getKey(), entry.getValue());
+            }
+            super.clear();
+        }
+    }
+
+    /**
+     * Gets a region file which was evicted while still in use, and puts it
+     * back into use.
+     *
+     * @param file The region file path
+     * @return The retired region file, or null if there is none
+     */
+    @Nullable
+    public RegionFile revive(File file) {
+        synchronized (RegionFileCache.class) {
+            for (Iterator<Map.Entry<RegionFile, File>> iterator = this.retired.entrySet().iterator(); iterator.hasNext();) {
+                final Map.Entry<RegionFile, File> entry = iterator.next();
+                if (entry.getValue().equals(file)) {
+                    iterator.remove();
+                    return entry.getKey();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Marks the region file as in use, so it isn't closed when evicted.
+     * Every call must be followed by a call to {@link #release(RegionFile)}.
+     *
+     * @param regionFile The region file
+     */
+    public void retain(RegionFile regionFile) {
+        synchronized (RegionFileCache.class) {
+            this.references.merge(regionFile, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Marks the region file as no longer in use by the caller, closing it if
+     * it was evicted in the meantime.
+     *
+     * @param regionFile The region file
+     */
+    public void release(RegionFile regionFile) {
+        synchronized (RegionFileCache.class) {
+            final int count = this.references.getOrDefault(regionFile, 0) - 1;
+            if (count > 0) {
+                this.references.put(regionFile, count);
+                return;
+            }
+            this.references.remove(regionFile);
+            final File file = this.retired.remove(regionFile);
+            if (file != null) {
+                close(file, regionFile);
+            }
+        }
+    }
+
+    /**
+     * Wraps the chunk output stream of a retained region file, so that the
+     * region file is released once the stream is closed. The chunk is only
+     * written to the region file when the stream is closed.
+     *
+     * @param regionFile The retained region file
+     * @param stream The chunk output stream
+     * @return The wrapped stream
+     */
+    public DataOutputStream releaseOnClose(RegionFile regionFile, DataOutputStream stream) {
+        return new DataOutputStream(new FilterOutputStream(stream) {
+
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (this.closed) {
+                    return;
+                }
+                this.closed = true;
+                try {
+                    super.close();
+                } finally {
+                    release(regionFile);
+                }
+            }
+        });
+    }
+
+    private void retireOrClose(File file, RegionFile regionFile) {
+        if (this.references.containsKey(regionFile)) {
+            this.retired.put(regionFile, file);
+        } else {
+            close(file, regionFile);
+        }
+    }
+
+    private static void close(File file, RegionFile regionFile) {
+        try {
+            regionFile.close();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to close region file {}", file, e);
+        }
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+}
@@ -24,93 +24,114 @@
  */
 package org.spongepowered.common.world.storage;
 
-import com.google.common.collect.Sets;
-import net.minecraft.world.chunk.storage.RegionFile;
+import com.google.common.collect.Lists;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class SpongeChunkDataStream implements ChunkDataStream {
-
-    private static class RegionFileItr {
+import javax.annotation.Nullable;
 
-        private final RegionFile file;
-        public int index;
-
-        public RegionFileItr(RegionFile regionFile) {
-            this.file = regionFile;
-        }
+public class SpongeChunkDataStream implements ChunkDataStream {
 
-        public int getNext() {
-            int index = this.index;
-            int[] offsets = this.file.offsets;
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
-            }
-            if (index >= offsets.length) {
-                return -1;
-            }
-            return index;
-        }
+    private final IMixinAnvilChunkLoader loader;
+    @Nullable private List<Path> regionFiles;
+    // The amount of chunks of each region file which wasn't opened yet, read
+    // from the headers on demand, or -1 if not read yet
+    @Nullable private int[] regionChunkCounts;
+    // The index of the next region file to open
+    private int regionIndex;
+    @Nullable private StreamedRegionFile region;
+    private int chunkIndex;
+    // The next region file, opened and loaded in the background
+    @Nullable private CompletableFuture<StreamedRegionFile> nextRegion;
+
+    public SpongeChunkDataStream(IMixinAnvilChunkLoader loader) {
+        this.loader = loader;
+    }
 
-        public DataInputStream getStreamAt(int index) {
-            int x = index & 31;
-            int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
+    private List<Path> getRegionFiles() {
+        if (this.regionFiles == null) {
+            this.regionFiles = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.loader.getWorldDir()));
         }
-
+        return this.regionFiles;
     }
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
-    private final Path worldDir;
-
-    public SpongeChunkDataStream(Path worldDir) {
-        this.worldDir = worldDir;
+    @Nullable
+    private StreamedRegionFile openNextRegion() {
+        final List<Path> files = getRegionFiles();
+        final CompletableFuture<StreamedRegionFile> prefetched = this.nextRegion;
+        this.nextRegion = null;
+        final StreamedRegionFile region = prefetched != null ? prefetched.join() : StreamedRegionFile.open(this.loader, files.get(this.regionIndex));
+        this.regionIndex++;
+        if (this.regionIndex < files.size()) {
+            final Path next = files.get(this.regionIndex);
+            this.nextRegion = CompletableFuture.supplyAsync(() -> {
+                final StreamedRegionFile file = StreamedRegionFile.open(this.loader, next);
+                if (file != null) {
+                    file.prefetch();
+                }
+                return file;
+            });
+        }
+        return region;
     }
 
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
-        }
-        Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
-            }
+    private void closeRegion() {
+        if (this.region != null) {
+            this.region.close();
+            this.region = null;
         }
-        return false;
+        this.chunkIndex = 0;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
-            } else {
-                return next;
+    /**
+     * Moves to the next chunk which is present, without consuming it.
+     *
+     * @return False if there are no chunks left
+     */
+    private boolean advance() {
+        try {
+            while (true) {
+                if (this.region == null) {
+                    if (this.regionIndex >= getRegionFiles().size()) {
+                        return false;
+                    }
+                    this.region = openNextRegion();
+                    this.chunkIndex = 0;
+                    if (this.region == null) {
+                        continue;
+                    }
+                }
+                while (this.chunkIndex < MappedRegionFile.CHUNK_COUNT) {
+                    if (this.region.hasChunk(this.chunkIndex)) {
+                        return true;
+                    }
+                    this.chunkIndex++;
+                }
+                closeRegion();
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        return -1;
     }
 
     @Override
     public DataContainer next() {
-        int next = getNextIndex();
-        if (next == -1) {
+        if (!advance()) {
             throw new NoSuchElementException();
         }
-        this.regionFileItr.index = next + 1;
-        DataInputStream stream = this.regionFileItr.getStreamAt(next);
         try {
-            return WorldStorageUtil.readDataFromRegion(stream);
+            return this.region.readChunk(this.chunkIndex++);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -118,32 +139,75 @@ public DataContainer next() {
 
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        return advance();
     }
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
+        // Count the remaining chunks of the current region file, and all the
+        // region files which weren't opened yet
         int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        try {
+            if (this.region != null) {
+                for (int index = this.chunkIndex; index < MappedRegionFile.CHUNK_COUNT; index++) {
+                    if (this.region.hasChunk(index)) {
+                        count++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        final List<Path> files = getRegionFiles();
+        if (this.regionChunkCounts == null) {
+            this.regionChunkCounts = new int[files.size()];
+            Arrays.fill(this.regionChunkCounts, -1);
+        }
+        for (int i = this.regionIndex; i < files.size(); i++) {
+            if (this.regionChunkCounts[i] == -1) {
+                try {
+                    this.regionChunkCounts[i] = MappedRegionFile.countChunks(files.get(i));
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().warn("Failed to read the header of region file {}, skipping it.", files.get(i), e);
+                    this.regionChunkCounts[i] = 0;
+                }
+            }
+            count += this.regionChunkCounts[i];
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
         return count;
     }
 
     @Override
     public void reset() {
-        this.regionFileItr = null;
-        this.openedFiles.clear();
+        closeRegion();
+        if (this.nextRegion != null) {
+            this.nextRegion.thenAccept(file -> {
+                if (file != null) {
+                    file.close();
+                }
+            });
+            this.nextRegion = null;
+        }
+        this.regionFiles = null;
+        this.regionChunkCounts = null;
+        this.regionIndex = 0;
+    }
+
+    /**
+     * Creates a parallel stream of the data of all the chunks of the world,
+     * which is split by region file and, for the last region, by chunk. This
+     * doesn't affect the state of this stream.
+     *
+     * <p>The returned stream should be closed, for example with a
+     * try-with-resources statement, so the region files are closed if it's
+     * short-circuited.</p>
+     *
+     * @return The parallel stream
+     */
+    public Stream<DataContainer> parallelStream() {
+        final List<Path> files = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.loader.getWorldDir()));
+        final ChunkDataSpliterator spliterator = new ChunkDataSpliterator(this.loader, files);
+        return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
     }
 
 }
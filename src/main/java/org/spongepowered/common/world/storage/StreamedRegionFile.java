@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * A region file of a loaded world which is read by a chunk data stream.
+ *
+ * <p>Chunks are read from a {@link MappedRegionFile}, while holding the lock
+ * of the region file of the {@link RegionFileCache}. That is the lock the
+ * chunks are written under, so a chunk is never read while its sectors are
+ * rewritten. The region file is retained until this file is closed, so it
+ * isn't closed by an eviction in the meantime.</p>
+ *
+ * <p>Chunks which are still waiting to be saved are newer than the region
+ * file, so they are read from the chunk loader instead.</p>
+ */
+final class StreamedRegionFile implements Closeable {
+
+    private static final Pattern REGION_FILE_NAME = Pattern.compile("r\\.(-?\\d{1,8})\\.(-?\\d{1,8})\\.mca");
+
+    private final IMixinAnvilChunkLoader loader;
+    private final MappedRegionFile mappedFile;
+    private final RegionFile regionFile;
+    // The coordinates of the first chunk of the region
+    private final int chunkX;
+    private final int chunkZ;
+    private boolean closed;
+
+    private StreamedRegionFile(IMixinAnvilChunkLoader loader, MappedRegionFile mappedFile, RegionFile regionFile, int chunkX, int chunkZ) {
+        this.loader = loader;
+        this.mappedFile = mappedFile;
+        this.regionFile = regionFile;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    /**
+     * Opens a region file of the world of the chunk loader.
+     *
+     * @param loader The chunk loader
+     * @param file The region file path
+     * @return The region file, or null if it can't be opened
+     */
+    @Nullable
+    static StreamedRegionFile open(IMixinAnvilChunkLoader loader, Path file) {
+        // The region coordinates are bounded by the world border, so the
+        // pattern only accepts values that fit into an int
+        final Matcher matcher = REGION_FILE_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            SpongeImpl.getLogger().warn("Region file {} doesn't have a valid name, skipping it.", file);
+            return null;
+        }
+        final int chunkX = Integer.parseInt(matcher.group(1)) << 5;
+        final int chunkZ = Integer.parseInt(matcher.group(2)) << 5;
+        final MappedRegionFile mappedFile;
+        try {
+            mappedFile = new MappedRegionFile(file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to open region file {}, skipping it.", file, e);
+            return null;
+        }
+        final RegionFile regionFile = WorldStorageUtil.retainRegionFile(loader.getWorldDir(), chunkX, chunkZ);
+        return new StreamedRegionFile(loader, mappedFile, regionFile, chunkX, chunkZ);
+    }
+
+    @Nullable
+    private NBTTagCompound getPendingChunkData(int index) {
+        return this.loader.getPendingChunkData(this.chunkX + (index & 31), this.chunkZ + (index >> 5));
+    }
+
+    /**
+     * Gets whether the chunk at the given index, which is
+     * {@code x + z * 32} in region local chunk coordinates, is present.
+     *
+     * @param index The chunk index
+     * @return Whether the chunk is present
+     * @throws IOException If the file can't be read
+     */
+    boolean hasChunk(int index) throws IOException {
+        if (getPendingChunkData(index) != null) {
+            return true;
+        }
+        synchronized (this.regionFile) {
+            return this.mappedFile.hasChunk(index);
+        }
+    }
+
+    /**
+     * Reads the data of the chunk at the given index, which is
+     * {@code x + z * 32} in region local chunk coordinates.
+     *
+     * @param index The chunk index
+     * @return The chunk data, or null if the chunk isn't present or invalid
+     * @throws IOException If the file can't be read
+     */
+    @Nullable
+    DataContainer readChunk(int index) throws IOException {
+        final NBTTagCompound pending = getPendingChunkData(index);
+        if (pending != null) {
+            return WorldStorageUtil.readData(pending);
+        }
+        synchronized (this.regionFile) {
+            return this.mappedFile.readChunk(index, WorldStorageUtil::readDataFromRegion);
+        }
+    }
+
+    /**
+     * Asks the operating system to load the whole region file into memory.
+     */
+    void prefetch() {
+        this.mappedFile.prefetch();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.mappedFile.close();
+        } catch (IOException ignored) {
+        } finally {
+            WorldStorageUtil.releaseRegionFile(this.regionFile);
+        }
+    }
+
+}
@@ -25,6 +25,9 @@
 package org.spongepowered.common.world.storage;
 
 import com.flowpowered.math.vector.Vector3i;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
@@ -39,7 +42,6 @@
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 
 import java.io.DataInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
@@ -47,9 +49,37 @@
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 public class WorldStorageUtil {
 
+    // Memory mapped region files used to read chunk data off the main thread,
+    // these are never written to so they don't interfere with the RegionFileCache.
+    // Removed files are closed on the removing thread, so they can't be read
+    // any more once invalidateAll returns.
+    private static final LoadingCache<Path, MappedRegionFile> MAPPED_REGIONS = Caffeine.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .executor(Runnable::run)
+            .removalListener((Path path, MappedRegionFile regionFile, RemovalCause cause) -> {
+                if (regionFile != null) {
+                    try {
+                        regionFile.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            })
+            .build(path -> {
+                try {
+                    return new MappedRegionFile(path);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
         int x = chunkCoords.getX();
         int z = chunkCoords.getZ();
@@ -66,19 +96,88 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
         if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || !SpongeChunkLayout.instance.isValidChunk(x, y, z)) {
             return CompletableFuture.completedFuture(Optional.empty());
         }
-        File worldDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
+        IMixinAnvilChunkLoader loader = (IMixinAnvilChunkLoader) chunkLoader;
         return SpongeImpl.getScheduler().submitAsyncTask(() -> {
-            DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
-            return Optional.ofNullable(readDataFromRegion(stream));
+            // Data still waiting to be written is newer than the region file
+            NBTTagCompound data = loader.getPendingChunkData(x, z);
+            if (data == null) {
+                data = readChunkCompound(loader.getWorldDir(), x, z);
+            }
+            return Optional.ofNullable(data == null ? null : readData(data));
         });
     }
 
+    @Nullable
+    private static NBTTagCompound readChunkCompound(Path worldDir, int x, int z) throws IOException {
+        Path regionFilePath = worldDir.resolve("region").resolve("r." + (x >> 5) + "." + (z >> 5) + ".mca");
+        if (!Files.exists(regionFilePath)) {
+            return null;
+        }
+        final RegionFile regionFile = retainRegionFile(worldDir, x, z);
+        try {
+            // Chunks are written while holding the lock of their region file,
+            // so the mapping can't be read while a chunk is half written
+            synchronized (regionFile) {
+                try {
+                    return MAPPED_REGIONS.get(regionFilePath).readChunk((x & 31) + (z & 31) * 32, CompressedStreamTools::read);
+                } catch (IOException | CompletionException e) {
+                    // The mapping may have been closed concurrently, fall back
+                    // to the vanilla region file
+                    MAPPED_REGIONS.invalidate(regionFilePath);
+                }
+                final DataInputStream stream = regionFile.getChunkDataInputStream(x & 31, z & 31);
+                return stream == null ? null : CompressedStreamTools.read(stream);
+            }
+        } finally {
+            releaseRegionFile(regionFile);
+        }
+    }
+
+    /**
+     * Gets the region file of the {@link RegionFileCache} which contains the
+     * given chunk, and marks it as in use so it isn't closed until it is
+     * released by {@link #releaseRegionFile(RegionFile)}.
+     *
+     * @param worldDir The world directory
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The retained region file
+     */
+    static RegionFile retainRegionFile(Path worldDir, int x, int z) {
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        synchronized (RegionFileCache.class) {
+            final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(worldDir.toFile(), x, z);
+            if (cache != null) {
+                cache.retain(regionFile);
+            }
+            return regionFile;
+        }
+    }
+
+    static void releaseRegionFile(RegionFile regionFile) {
+        final RegionFileLruCache cache = RegionFileLruCache.getInstance();
+        if (cache != null) {
+            cache.release(regionFile);
+        }
+    }
+
+    /**
+     * Closes all the memory mapped region files, this is called whenever the
+     * region files of the {@link RegionFileCache} are closed.
+     */
+    public static void closeMappedRegions() {
+        MAPPED_REGIONS.invalidateAll();
+    }
+
     public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        return readData(CompressedStreamTools.read(stream));
+    }
 
+    @Nullable
+    static DataContainer readData(NBTTagCompound data) {
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
         if (!data.hasKey(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND)) {
@@ -99,20 +198,4 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
         }
     }
 
-    // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
-    public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCache.REGIONS_BY_FILE.size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCache.REGIONS_BY_FILE.put(file, regionFile);
-        return regionFile;
-    }
-
 }
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.block.tileentity.TileEntityTypes;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.block.SpongeTileEntityArchetypeBuilder;
+import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.ArrayPalette;
+import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematic;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class StreamingSchematicCodecTest {
+
+    private static final Vector3i MIN = new Vector3i(-1, -2, -3);
+    private static final Vector3i SIZE = new Vector3i(5, 3, 4);
+    private static final Vector3i CHEST_POS = new Vector3i(1, 0, -1);
+
+    @Test
+    public void testLocalPalette() throws IOException {
+        final Schematic schematic = createSchematic(new ArrayPalette(), false);
+        assertSameSchematic(schematic, translateWithCodec(schematic));
+        assertSameSchematic(schematic, readWithCodec(schematic));
+    }
+
+    @Test
+    public void testGlobalPalette() throws IOException {
+        final Schematic schematic = createSchematic(GlobalPalette.instance, false);
+        assertSameSchematic(schematic, translateWithCodec(schematic));
+        assertSameSchematic(schematic, readWithCodec(schematic));
+    }
+
+    @Test
+    public void testTileEntities() throws IOException {
+        final Schematic schematic = createSchematic(new ArrayPalette(), true);
+        assertEquals(1, schematic.getTileEntityArchetypes().size());
+        assertSameSchematic(schematic, translateWithCodec(schematic));
+        assertSameSchematic(schematic, readWithCodec(schematic));
+    }
+
+    @Test
+    public void testBlockDataBeforePalette() throws IOException {
+        final BlockState stone = BlockTypes.STONE.getDefaultState();
+        final BlockState dirt = BlockTypes.DIRT.getDefaultState();
+        // A 2x1x2 schematic, written with the block data ahead of the
+        // palette and dimensions
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeUTF("");
+        out.writeByte(NbtDataUtil.TAG_BYTE_ARRAY);
+        out.writeUTF(DataQueries.Schematic.BLOCK_DATA.toString());
+        out.writeInt(4);
+        out.write(new byte[] {0, 1, 1, 0});
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeUTF(DataQueries.Schematic.PALETTE.toString());
+        out.writeByte(NbtDataUtil.TAG_INT);
+        out.writeUTF(stone.getId());
+        out.writeInt(0);
+        out.writeByte(NbtDataUtil.TAG_INT);
+        out.writeUTF(dirt.getId());
+        out.writeInt(1);
+        out.writeByte(NbtDataUtil.TAG_END);
+        out.writeByte(NbtDataUtil.TAG_INT);
+        out.writeUTF(DataQueries.Schematic.VERSION.toString());
+        out.writeInt(1);
+        out.writeByte(NbtDataUtil.TAG_SHORT);
+        out.writeUTF(DataQueries.Schematic.WIDTH.toString());
+        out.writeShort(2);
+        out.writeByte(NbtDataUtil.TAG_SHORT);
+        out.writeUTF(DataQueries.Schematic.HEIGHT.toString());
+        out.writeShort(1);
+        out.writeByte(NbtDataUtil.TAG_SHORT);
+        out.writeUTF(DataQueries.Schematic.LENGTH.toString());
+        out.writeShort(2);
+        out.writeByte(NbtDataUtil.TAG_END);
+
+        final Schematic streamed = StreamingSchematicCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        final Schematic translated = SchematicTranslator.get().translate(NbtTranslator.getInstance().translateFrom(compound));
+        assertSameSchematic(translated, streamed);
+        // index = z * width + x
+        assertEquals(stone, streamed.getBlock(0, 0, 0));
+        assertEquals(dirt, streamed.getBlock(1, 0, 0));
+        assertEquals(dirt, streamed.getBlock(0, 0, 1));
+        assertEquals(stone, streamed.getBlock(1, 0, 1));
+    }
+
+    private static Schematic createSchematic(BlockPalette palette, boolean withTiles) {
+        final BlockState[] states = {
+                BlockTypes.AIR.getDefaultState(),
+                BlockTypes.STONE.getDefaultState(),
+                BlockTypes.DIRT.getDefaultState(),
+                BlockTypes.GLASS.getDefaultState()
+        };
+        final MutableBlockVolume volume = new ArrayMutableBlockBuffer(palette, MIN, SIZE);
+        final Vector3i max = MIN.add(SIZE).sub(Vector3i.ONE);
+        for (int y = MIN.getY(); y <= max.getY(); y++) {
+            for (int z = MIN.getZ(); z <= max.getZ(); z++) {
+                for (int x = MIN.getX(); x <= max.getX(); x++) {
+                    volume.setBlock(x, y, z, states[Math.floorMod(x * 3 + y * 5 + z * 7, states.length)]);
+                }
+            }
+        }
+        final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
+        if (withTiles) {
+            final BlockState chest = BlockTypes.CHEST.getDefaultState();
+            volume.setBlock(CHEST_POS, chest);
+            final DataContainer tileData = DataContainer.createNew().set(DataQuery.of("id"), "minecraft:chest");
+            tiles.put(CHEST_POS, new SpongeTileEntityArchetypeBuilder()
+                    .state(chest)
+                    .tile(TileEntityTypes.CHEST)
+                    .tileData(tileData)
+                    .build());
+        }
+        final DataView metadata = DataContainer.createNew().set(DataQuery.of("Name"), "test");
+        return new SpongeSchematic(volume, tiles, metadata);
+    }
+
+    /**
+     * Writes the schematic with the codec, and reads it back with the
+     * translator.
+     */
+    private static Schematic translateWithCodec(Schematic schematic) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StreamingSchematicCodec.write(bytes, schematic);
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        return SchematicTranslator.get().translate(NbtTranslator.getInstance().translateFrom(compound));
+    }
+
+    /**
+     * Writes the schematic with the translator, and reads it back with the
+     * codec.
+     */
+    private static Schematic readWithCodec(Schematic schematic) throws IOException {
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(SchematicTranslator.get().translate(schematic));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        return StreamingSchematicCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static void assertSameSchematic(Schematic expected, Schematic actual) {
+        assertEquals(expected.getBlockMin(), actual.getBlockMin());
+        assertEquals(expected.getBlockSize(), actual.getBlockSize());
+        final Vector3i min = expected.getBlockMin();
+        final Vector3i max = expected.getBlockMax();
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                }
+            }
+        }
+        final Map<Vector3i, TileEntityArchetype> expectedTiles = expected.getTileEntityArchetypes();
+        final Map<Vector3i, TileEntityArchetype> actualTiles = actual.getTileEntityArchetypes();
+        assertEquals(expectedTiles.keySet(), actualTiles.keySet());
+        for (Map.Entry<Vector3i, TileEntityArchetype> entry : expectedTiles.entrySet()) {
+            final TileEntityArchetype actualTile = actualTiles.get(entry.getKey());
+            assertEquals(entry.getValue().getTileEntityType(), actualTile.getTileEntityType());
+            assertEquals(entry.getValue().getState(), actualTile.getState());
+            assertEquals(entry.getValue().getTileData().getString(DataQuery.of("id")), actualTile.getTileData().getString(DataQuery.of("id")));
+        }
+    }
+
+}
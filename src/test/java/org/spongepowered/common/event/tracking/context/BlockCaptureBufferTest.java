@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeBlockChangeFlag;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.UUID;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class BlockCaptureBufferTest {
+
+    private static final BlockPos FIRST = new BlockPos(1, 64, -3);
+    private static final BlockPos SECOND = new BlockPos(-20, 12, 7);
+
+    private final UUID worldId = UUID.randomUUID();
+    private final SpongeBlockChangeFlag flag = new SpongeBlockChangeFlag("test", 3);
+    private WorldServer world;
+
+    @Before
+    public void init() {
+        this.world = Mockito.mock(WorldServer.class);
+        Mockito.when(((World) this.world).getUniqueId()).thenReturn(this.worldId);
+    }
+
+    @Test
+    public void testAddAndDiscard() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer();
+        buffer.add(this.world, FIRST, Blocks.STONE.getDefaultState(), this.flag, BlockChange.BREAK);
+        buffer.add(this.world, SECOND, Blocks.DIRT.getDefaultState(), this.flag, BlockChange.PLACE);
+        buffer.add(this.world, FIRST, Blocks.AIR.getDefaultState(), this.flag, BlockChange.PLACE);
+        assertEquals(3, buffer.size());
+        assertTrue(buffer.containsPosition(FIRST));
+        assertTrue(buffer.containsPosition(SECOND));
+
+        // The first position is still captured by the last change
+        buffer.discard(0);
+        assertEquals(2, buffer.size());
+        assertTrue(buffer.containsPosition(FIRST));
+
+        buffer.discard(1);
+        assertEquals(1, buffer.size());
+        assertFalse(buffer.containsPosition(FIRST));
+        assertTrue(buffer.containsPosition(SECOND));
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.containsPosition(SECOND));
+    }
+
+    @Test
+    public void testLazySnapshot() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer();
+        buffer.add(this.world, FIRST, Blocks.STONE.getDefaultState(), this.flag, BlockChange.BREAK);
+        Mockito.verifyZeroInteractions(this.world);
+
+        final BlockSnapshot snapshot = buffer.get(0);
+        assertEquals(this.worldId, snapshot.getWorldUniqueId());
+        assertEquals(new Vector3i(FIRST.getX(), FIRST.getY(), FIRST.getZ()), snapshot.getPosition());
+        assertEquals(Blocks.STONE.getDefaultState(), snapshot.getState());
+        assertEquals(BlockChange.BREAK, ((SpongeBlockSnapshot) snapshot).blockChange);
+        assertSame(this.flag, ((SpongeBlockSnapshot) snapshot).getChangeFlag());
+        // The snapshot is only created once
+        assertSame(snapshot, buffer.get(0));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer();
+        for (int i = 0; i < 20; i++) {
+            buffer.add(this.world, new BlockPos(i, 0, 0), Blocks.STONE.getDefaultState(), this.flag, BlockChange.MODIFY);
+        }
+        final BlockSnapshot inserted = buffer.get(5);
+        buffer.add(0, inserted);
+        assertEquals(21, buffer.size());
+        assertSame(inserted, buffer.get(0));
+        assertEquals(new Vector3i(5, 0, 0), buffer.get(6).getPosition());
+
+        assertSame(inserted, buffer.remove(6));
+        assertEquals(20, buffer.size());
+        // The position is still captured by the inserted snapshot
+        assertTrue(buffer.containsPosition(new BlockPos(5, 0, 0)));
+        assertSame(inserted, buffer.remove(0));
+        assertFalse(buffer.containsPosition(new BlockPos(5, 0, 0)));
+
+        for (int i = 0; i < buffer.size(); i++) {
+            final int x = i < 5 ? i : i + 1;
+            assertEquals(new Vector3i(x, 0, 0), buffer.get(i).getPosition());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDiscardOutOfBounds() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer();
+        buffer.add(this.world, FIRST, Blocks.STONE.getDefaultState(), this.flag, BlockChange.BREAK);
+        buffer.discard(1);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LightingUpdateQueueTest {
+
+    @Test
+    public void testOfferAndDrainInOrder() {
+        final LightingUpdateQueue queue = new LightingUpdateQueue();
+        Assert.assertTrue(queue.isEmpty());
+        for (short pos = 0; pos < 10; pos++) {
+            Assert.assertTrue(queue.offer(pos));
+        }
+        final short[] buffer = new short[8];
+        Assert.assertEquals(8, queue.drainTo(buffer));
+        for (short pos = 0; pos < 8; pos++) {
+            Assert.assertEquals(pos, buffer[pos]);
+        }
+
+        // The head is now in the middle of the ring, so these wrap around
+        // and then grow it
+        for (short pos = 10; pos < 30; pos++) {
+            Assert.assertTrue(queue.offer(pos));
+        }
+        final short[] rest = new short[64];
+        Assert.assertEquals(22, queue.drainTo(rest));
+        for (int i = 0; i < 22; i++) {
+            Assert.assertEquals(i + 8, rest[i]);
+        }
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.drainTo(rest));
+    }
+
+    @Test
+    public void testDeduplication() {
+        final LightingUpdateQueue queue = new LightingUpdateQueue();
+        Assert.assertTrue(queue.offer((short) 5));
+        Assert.assertFalse(queue.offer((short) 5));
+        Assert.assertTrue(queue.contains((short) 5));
+
+        // Negative positions use the full 16 bits
+        Assert.assertTrue(queue.offer((short) -1));
+        Assert.assertFalse(queue.offer((short) -1));
+
+        final short[] buffer = new short[4];
+        Assert.assertEquals(2, queue.drainTo(buffer));
+        Assert.assertEquals(5, buffer[0]);
+        Assert.assertEquals(-1, buffer[1]);
+
+        // Drained positions can be queued again
+        Assert.assertFalse(queue.contains((short) 5));
+        Assert.assertTrue(queue.offer((short) 5));
+    }
+
+    @Test
+    public void testMark() {
+        final LightingUpdateQueue queue = new LightingUpdateQueue();
+        Assert.assertTrue(queue.mark((short) 7));
+        Assert.assertFalse(queue.mark((short) 7));
+        Assert.assertFalse(queue.offer((short) 7));
+        Assert.assertTrue(queue.contains((short) 7));
+        // Marked positions aren't queued
+        Assert.assertTrue(queue.isEmpty());
+
+        queue.unmark((short) 7);
+        Assert.assertFalse(queue.contains((short) 7));
+        Assert.assertTrue(queue.offer((short) 7));
+        Assert.assertFalse(queue.isEmpty());
+    }
+
+    @Test
+    public void testManyPositions() {
+        final LightingUpdateQueue queue = new LightingUpdateQueue();
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertTrue(queue.offer((short) (i * 7)));
+        }
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertFalse(queue.offer((short) (i * 7)));
+        }
+        final short[] buffer = new short[5000];
+        Assert.assertEquals(5000, queue.drainTo(buffer));
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals((short) (i * 7), buffer[i]);
+        }
+        Assert.assertTrue(queue.isEmpty());
+        // The buffers were released, and are allocated again
+        Assert.assertTrue(queue.offer((short) 0));
+    }
+
+}
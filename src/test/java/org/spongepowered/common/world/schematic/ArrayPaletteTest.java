@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.block.BlockState;
+
+import java.util.Optional;
+
+public class ArrayPaletteTest {
+
+    private static BlockState[] createStates(int count) {
+        final BlockState[] states = new BlockState[count];
+        for (int i = 0; i < count; i++) {
+            states[i] = Mockito.mock(BlockState.class);
+        }
+        return states;
+    }
+
+    @Test
+    public void testGetOrAssign() {
+        final ArrayPalette palette = new ArrayPalette(2);
+        final BlockState[] states = createStates(5);
+        for (int i = 0; i < states.length; i++) {
+            Assert.assertEquals(i, palette.getOrAssign(states[i]));
+        }
+        // The palette grew past its expected size
+        Assert.assertEquals(4, palette.getHighestId());
+        Assert.assertEquals(2, palette.getOrAssign(states[2]));
+        Assert.assertEquals(Optional.of(3), palette.get(states[3]));
+        Assert.assertEquals(Optional.of(states[4]), palette.get(4));
+        Assert.assertEquals(Optional.empty(), palette.get(5));
+        Assert.assertEquals(Optional.empty(), palette.get(-1));
+        Assert.assertEquals(5, palette.getEntries().size());
+    }
+
+    @Test
+    public void testIdReuseAfterRemove() {
+        final ArrayPalette palette = new ArrayPalette();
+        final BlockState[] states = createStates(6);
+        for (int i = 0; i < 4; i++) {
+            palette.getOrAssign(states[i]);
+        }
+        Assert.assertTrue(palette.remove(states[1]));
+        Assert.assertFalse(palette.remove(states[1]));
+        Assert.assertTrue(palette.remove(states[3]));
+        Assert.assertEquals(2, palette.getHighestId());
+        Assert.assertEquals(Optional.empty(), palette.get(1));
+
+        // The lowest free id is used first
+        Assert.assertEquals(1, palette.getOrAssign(states[4]));
+        Assert.assertEquals(3, palette.getOrAssign(states[5]));
+        Assert.assertEquals(3, palette.getHighestId());
+    }
+
+    @Test
+    public void testAssign() {
+        final ArrayPalette palette = new ArrayPalette(4);
+        final BlockState[] states = createStates(4);
+        palette.assign(states[0], 10);
+        palette.assign(states[1], 0);
+        Assert.assertEquals(10, palette.getHighestId());
+        Assert.assertEquals(Optional.of(states[0]), palette.get(10));
+        // Assigned ids are skipped when allocating
+        Assert.assertEquals(1, palette.getOrAssign(states[2]));
+
+        // Assigning an id which is in use replaces its state
+        palette.assign(states[3], 1);
+        Assert.assertEquals(Optional.empty(), palette.get(states[2]));
+        Assert.assertEquals(Optional.of(states[3]), palette.get(1));
+        Assert.assertEquals(2, palette.getOrAssign(states[2]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignExistingState() {
+        final ArrayPalette palette = new ArrayPalette();
+        final BlockState state = Mockito.mock(BlockState.class);
+        palette.assign(state, 0);
+        palette.assign(state, 1);
+    }
+
+    @Test
+    public void testMatchesBimapPalette() {
+        final ArrayPalette array = new ArrayPalette(4);
+        final BimapPalette bimap = new BimapPalette(4);
+        final BlockState[] states = createStates(32);
+        array.assign(states[0], 3);
+        bimap.assign(states[0], 3);
+        for (int i = 1; i < states.length; i++) {
+            Assert.assertEquals(bimap.getOrAssign(states[i]), array.getOrAssign(states[i]));
+        }
+        for (int i = 0; i < states.length; i += 3) {
+            Assert.assertEquals(bimap.remove(states[i]), array.remove(states[i]));
+            Assert.assertEquals(bimap.getHighestId(), array.getHighestId());
+        }
+        for (int i = 0; i < states.length; i += 3) {
+            Assert.assertEquals(bimap.getOrAssign(states[i]), array.getOrAssign(states[i]));
+            Assert.assertEquals(bimap.getHighestId(), array.getHighestId());
+        }
+        for (int id = 0; id <= bimap.getHighestId(); id++) {
+            Assert.assertEquals(bimap.get(id), array.get(id));
+        }
+        Assert.assertEquals(bimap.getEntries().size(), array.getEntries().size());
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+public class ChunkDataSpliteratorTest {
+
+    private static final DataQuery X_POS = DataQuery.of("xPos");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private IMixinAnvilChunkLoader loader;
+
+    @Before
+    public void init() throws IOException {
+        this.folder.newFolder("region");
+        this.loader = Mockito.mock(IMixinAnvilChunkLoader.class);
+        Mockito.when(this.loader.getWorldDir()).thenReturn(this.folder.getRoot().toPath());
+    }
+
+    @After
+    public void closeRegionFiles() {
+        RegionFileCache.clearRegionFileReferences();
+    }
+
+    private static NBTTagCompound createChunk(int x) {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setTag(NbtDataUtil.CHUNK_DATA_SECTIONS, new NBTTagList());
+        final NBTTagCompound root = new NBTTagCompound();
+        root.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+        return root;
+    }
+
+    private Path createRegion(String name, int... chunkXs) throws IOException {
+        final File file = new File(new File(this.folder.getRoot(), "region"), name);
+        final RegionFile regionFile = new RegionFile(file);
+        for (int x : chunkXs) {
+            try (DataOutputStream stream = regionFile.getChunkDataOutputStream(x & 31, 0)) {
+                CompressedStreamTools.write(createChunk(x), stream);
+            }
+        }
+        regionFile.close();
+        return file.toPath();
+    }
+
+    private Set<Integer> readXs(List<Path> regionFiles, boolean parallel) {
+        final ChunkDataSpliterator spliterator = new ChunkDataSpliterator(this.loader, regionFiles);
+        try {
+            return StreamSupport.stream(spliterator, parallel)
+                    .map(data -> data.getInt(X_POS).get())
+                    .collect(Collectors.toSet());
+        } finally {
+            spliterator.close();
+        }
+    }
+
+    @Test
+    public void testEstimateSize() {
+        final List<Path> regionFiles = Arrays.asList(new File("r.0.0.mca").toPath(), new File("r.0.1.mca").toPath(),
+                new File("r.1.0.mca").toPath());
+        final ChunkDataSpliterator spliterator = new ChunkDataSpliterator(this.loader, regionFiles);
+        Assert.assertEquals(3 * 1024, spliterator.estimateSize());
+
+        final Spliterator<DataContainer> first = spliterator.trySplit();
+        Assert.assertNotNull(first);
+        Assert.assertEquals(1024, first.estimateSize());
+        Assert.assertEquals(2 * 1024, spliterator.estimateSize());
+
+        final Spliterator<DataContainer> second = spliterator.trySplit();
+        Assert.assertNotNull(second);
+        Assert.assertEquals(1024, second.estimateSize());
+        Assert.assertEquals(1024, spliterator.estimateSize());
+
+        // A single region file is split by its chunks
+        final Spliterator<DataContainer> half = spliterator.trySplit();
+        Assert.assertNotNull(half);
+        Assert.assertEquals(512, half.estimateSize());
+        Assert.assertEquals(512, spliterator.estimateSize());
+
+        Assert.assertEquals(0, new ChunkDataSpliterator(this.loader, Collections.emptyList()).estimateSize());
+    }
+
+    @Test
+    public void testReadChunks() throws IOException {
+        final List<Path> regionFiles = Arrays.asList(
+                createRegion("r.0.0.mca", 0, 5, 31),
+                createRegion("r.1.0.mca", 32, 40),
+                createRegion("r.2.0.mca"));
+        final Set<Integer> expected = IntStream.of(0, 5, 31, 32, 40).boxed().collect(Collectors.toSet());
+        Assert.assertEquals(expected, readXs(regionFiles, false));
+        Assert.assertEquals(expected, readXs(regionFiles, true));
+    }
+
+    @Test
+    public void testPendingChunkData() throws IOException {
+        final List<Path> regionFiles = Collections.singletonList(createRegion("r.0.0.mca", 0, 5));
+        // Newer data of the chunk at x 5 is waiting to be saved, and the chunk
+        // at x 7 was never saved before
+        Mockito.when(this.loader.getPendingChunkData(5, 0)).thenReturn(createChunk(6));
+        Mockito.when(this.loader.getPendingChunkData(7, 0)).thenReturn(createChunk(7));
+        Assert.assertEquals(IntStream.of(0, 6, 7).boxed().collect(Collectors.toSet()), readXs(regionFiles, false));
+    }
+
+    @Test
+    public void testEstimateSizeAfterAdvance() throws IOException {
+        final ChunkDataSpliterator spliterator = new ChunkDataSpliterator(this.loader, Collections.singletonList(createRegion("r.0.0.mca", 0, 1)));
+        try {
+            Assert.assertTrue(spliterator.tryAdvance(data -> Assert.assertEquals(0, (int) data.getInt(X_POS).get())));
+            Assert.assertEquals(1023, spliterator.estimateSize());
+        } finally {
+            spliterator.close();
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testCloseReleasesOpenRegions() throws IOException {
+        final ChunkDataSpliterator spliterator = new ChunkDataSpliterator(this.loader, Collections.singletonList(createRegion("r.0.0.mca", 0, 1)));
+        Assert.assertTrue(spliterator.tryAdvance(data -> { }));
+        // Closing a short-circuited stream closes the region file it still holds
+        spliterator.close();
+        spliterator.tryAdvance(data -> { });
+    }
+
+}
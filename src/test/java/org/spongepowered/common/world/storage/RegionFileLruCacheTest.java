@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class RegionFileLruCacheTest {
+
+    private static final File A = new File("r.0.0.mca");
+    private static final File B = new File("r.0.1.mca");
+    private static final File C = new File("r.1.0.mca");
+
+    @Test
+    public void testEvictionOrder() throws IOException {
+        final RegionFileLruCache cache = new RegionFileLruCache(2);
+        final RegionFile a = Mockito.mock(RegionFile.class);
+        final RegionFile b = Mockito.mock(RegionFile.class);
+        final RegionFile c = Mockito.mock(RegionFile.class);
+        cache.put(A, a);
+        cache.put(B, b);
+        // Using the first region file makes the second one the eldest
+        Assert.assertSame(a, cache.get(A));
+        cache.put(C, c);
+
+        Assert.assertEquals(Arrays.asList(A, C), new ArrayList<>(cache.keySet()));
+        Assert.assertEquals(1, cache.getEvictions());
+        Mockito.verify(b).close();
+        Mockito.verify(a, Mockito.never()).close();
+        Mockito.verify(c, Mockito.never()).close();
+
+        Assert.assertNull(cache.get(B));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testRetainedRegionFileIsRetired() throws IOException {
+        final RegionFileLruCache cache = new RegionFileLruCache(1);
+        final RegionFile a = Mockito.mock(RegionFile.class);
+        final RegionFile b = Mockito.mock(RegionFile.class);
+        cache.put(A, a);
+        cache.retain(a);
+        cache.put(B, b);
+
+        // The evicted region file is still in use, so it isn't closed
+        Assert.assertFalse(cache.containsKey(A));
+        Mockito.verify(a, Mockito.never()).close();
+
+        // Loading it again revives the same instance
+        Assert.assertSame(a, cache.revive(A));
+        Assert.assertNull(cache.revive(A));
+        cache.put(A, a);
+        Mockito.verify(b).close();
+
+        cache.retain(a);
+        cache.closeAll();
+        Assert.assertTrue(cache.isEmpty());
+        Mockito.verify(a, Mockito.never()).close();
+
+        // Only the last release closes the retired region file
+        cache.release(a);
+        Mockito.verify(a, Mockito.never()).close();
+        cache.release(a);
+        Mockito.verify(a).close();
+        Assert.assertNull(cache.revive(A));
+    }
+
+}